@@ -0,0 +1,23 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskItemResultDTO {
+
+    // Position of the item in the request array
+    private int index;
+
+    private Integer taskId;
+
+    private boolean success;
+
+    // Why the item was skipped; null on success
+    private String error;
+}
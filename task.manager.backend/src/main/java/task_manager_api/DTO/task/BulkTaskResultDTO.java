@@ -0,0 +1,23 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResultDTO {
+
+    private int succeeded;
+
+    private int failed;
+
+    @Builder.Default
+    private List<BulkTaskItemResultDTO> items = new ArrayList<>();
+}
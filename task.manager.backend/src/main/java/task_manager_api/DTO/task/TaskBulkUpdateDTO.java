@@ -0,0 +1,22 @@
+package task_manager_api.DTO.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateDTO {
+
+    @NotNull
+    private Integer id;
+
+    @NotNull
+    @Valid
+    private TaskUpdateDTO changes;
+}
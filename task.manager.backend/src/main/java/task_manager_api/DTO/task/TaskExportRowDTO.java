@@ -0,0 +1,29 @@
+package task_manager_api.DTO.task;
+
+import lombok.*;
+import task_manager_api.model.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskExportRowDTO {
+
+    private Integer id;
+
+    private String title;
+
+    private String description;
+
+    private Status status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime deadline;
+
+    private Long userId;
+
+    private Long teamId;
+}
@@ -0,0 +1,18 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportErrorDTO {
+
+    // 1-based position of the row in the upload, not counting the CSV header
+    private long record;
+
+    private String error;
+}
@@ -0,0 +1,34 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResultDTO {
+
+    private long imported;
+
+    private long failed;
+
+    private int chunksCommitted;
+
+    // Every row up to this one is settled (imported or reported); a retry can resume after it
+    private long lastCommittedRecord;
+
+    // False when the import stopped part-way; committed chunks are kept
+    private boolean completed;
+
+    private String abortReason;
+
+    // Only the first rejected rows are listed; failed holds the full count
+    @Builder.Default
+    private List<TaskImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package task_manager_api.DTO.task;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDTO {
+
+    @Builder.Default
+    private List<TaskSummaryDTO> items = new ArrayList<>();
+
+    // Zero-based page number, null when the page was requested by cursor
+    private Integer page;
+
+    private int size;
+
+    private boolean hasNext;
+
+    // Pass back as ?after= to continue after the last item; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import task_manager_api.model.Status;
+
+import java.time.LocalDateTime;
+
+// Task summary with its creation time, so a page of summaries can end in a keyset cursor
+@Getter
+@AllArgsConstructor
+public class TaskPageRowDTO {
+
+    private Integer id;
+
+    private String title;
+
+    private Status status;
+
+    private LocalDateTime deadline;
+
+    private LocalDateTime dateCreated;
+}
@@ -0,0 +1,43 @@
+package task_manager_api.DTO.task;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import task_manager_api.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Filters for GET /api/tasks/query; every filter is optional and they combine with AND
+@Data
+@NoArgsConstructor
+public class TaskQueryDTO {
+
+    private List<Status> status;
+
+    private Long teamId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // Case-insensitive match in title or description
+    private String text;
+
+    private int page = 0;
+
+    private int size = 20;
+
+    // One of dateCreated, deadline, title, status
+    private String sort = "dateCreated";
+
+    private String direction = "asc";
+}
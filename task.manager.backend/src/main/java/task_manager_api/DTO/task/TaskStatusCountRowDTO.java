@@ -0,0 +1,19 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import task_manager_api.model.Status;
+
+// Number of tasks sharing an owner, a team and a status; either id and the status may be null
+@Getter
+@AllArgsConstructor
+public class TaskStatusCountRowDTO {
+
+    private Long userId;
+
+    private Long teamId;
+
+    private Status status;
+
+    private Long taskCount;
+}
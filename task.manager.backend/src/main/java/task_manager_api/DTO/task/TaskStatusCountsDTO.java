@@ -0,0 +1,22 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import task_manager_api.model.Status;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusCountsDTO {
+
+    @Builder.Default
+    private Map<Status, Long> counts = new EnumMap<>(Status.class);
+
+    private long total;
+}
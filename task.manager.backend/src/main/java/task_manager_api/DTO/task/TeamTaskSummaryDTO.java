@@ -0,0 +1,23 @@
+package task_manager_api.DTO.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import task_manager_api.model.Status;
+
+import java.time.LocalDateTime;
+
+// Task summary tagged with its team, used to group summaries of several teams loaded in one query
+@Getter
+@AllArgsConstructor
+public class TeamTaskSummaryDTO {
+
+    private Long teamId;
+
+    private Integer id;
+
+    private String title;
+
+    private Status status;
+
+    private LocalDateTime deadline;
+}
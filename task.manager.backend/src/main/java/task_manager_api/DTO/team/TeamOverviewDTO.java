@@ -0,0 +1,35 @@
+package task_manager_api.DTO.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import task_manager_api.model.Status;
+import task_manager_api.model.TeamRole;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Compact team view: counts instead of the embedded member and task lists of TeamResponseDTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamOverviewDTO {
+
+    private Long teamId;
+
+    private String teamName;
+
+    private LocalDateTime createdAt;
+
+    private TeamRole role;
+
+    private long memberCount;
+
+    private long taskCount;
+
+    @Builder.Default
+    private Map<Status, Long> taskCountByStatus = new EnumMap<>(Status.class);
+}
@@ -0,0 +1,28 @@
+package task_manager_api.DTO.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import task_manager_api.model.Status;
+import task_manager_api.model.TeamRole;
+
+import java.time.LocalDateTime;
+
+// One (team, task status) group of the team overview query; status is null for teams without tasks
+@Getter
+@AllArgsConstructor
+public class TeamOverviewRowDTO {
+
+    private Long teamId;
+
+    private String teamName;
+
+    private LocalDateTime createdAt;
+
+    private TeamRole role;
+
+    private Long memberCount;
+
+    private Status status;
+
+    private Long taskCount;
+}
@@ -2,7 +2,9 @@ package task_manager_api.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -25,4 +27,25 @@ public class WebConfig {
             }
         };
     }
+
+    // Replaces Spring Boot's open-in-view registration, which backs off when this bean exists.
+    // Open-in-view holds the request's first connection until the response is written. Auth
+    // endpoints run their own short transactions, and login must not keep a connection while
+    // it waits on the password verification pool; an import commits per chunk and must not keep
+    // one while it streams the upload.
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewConfigurer(OpenEntityManagerInViewInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor)
+                        .excludePathPatterns("/api/auth/**", "/api/tasks/import");
+            }
+        };
+    }
 }
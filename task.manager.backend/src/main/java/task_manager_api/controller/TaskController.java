@@ -2,16 +2,30 @@ package task_manager_api.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import task_manager_api.DTO.task.BulkTaskResultDTO;
+import task_manager_api.DTO.task.TaskBulkUpdateDTO;
 import task_manager_api.DTO.task.TaskCreateDTO;
+import task_manager_api.DTO.task.TaskImportResultDTO;
+import task_manager_api.DTO.task.TaskPageDTO;
+import task_manager_api.DTO.task.TaskQueryDTO;
 import task_manager_api.DTO.task.TaskResponseDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.task.TaskUpdateDTO;
 import task_manager_api.model.Status;
+import task_manager_api.service.task.TaskBulkService;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskExportService;
+import task_manager_api.service.task.TaskImportService;
 import task_manager_api.service.task.TaskService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,9 +34,18 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
-
-    public TaskController(TaskService taskService) {
+    private final TaskBulkService taskBulkService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+
+    public TaskController(TaskService taskService,
+                          TaskBulkService taskBulkService,
+                          TaskExportService taskExportService,
+                          TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.taskBulkService = taskBulkService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
     }
 
     @PostMapping
@@ -31,11 +54,46 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    // Bulk endpoints validate each item on its own and report per-item results
+    @PostMapping("/bulk")
+    public BulkTaskResultDTO createTasks(@RequestBody List<TaskCreateDTO> tasks) {
+        return taskBulkService.createTasks(tasks);
+    }
+
+    @PutMapping("/bulk")
+    public BulkTaskResultDTO updateTasks(@RequestBody List<TaskBulkUpdateDTO> tasks) {
+        return taskBulkService.updateTasks(tasks);
+    }
+
+    @DeleteMapping("/bulk")
+    public BulkTaskResultDTO deleteTasks(@RequestBody List<Integer> ids) {
+        return taskBulkService.deleteTasks(ids);
+    }
+
+    // The body is read as it arrives and committed in chunks; rows are not collected up front
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public TaskImportResultDTO importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) throws IOException {
+        return taskImportService.importTasks(TaskExportFormat.fromContentType(contentType), body);
+    }
+
     @GetMapping
     public List<TaskSummaryDTO> getTasksForUser() {
         return taskService.getUserTasks();
     }
 
+    @GetMapping(params = "size")
+    public TaskPageDTO getTasksPageForUser(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam int size) {
+        return taskService.getUserTasksPage(page, size);
+    }
+
+    @GetMapping(params = {"limit", "!size"})
+    public TaskPageDTO getTasksAfterForUser(@RequestParam(required = false) String after,
+                                            @RequestParam int limit) {
+        return taskService.getUserTasksAfter(after, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable Integer id) {
         TaskResponseDTO task = taskService.getTaskById(id);
@@ -47,6 +105,31 @@ public class TaskController {
         return taskService.getTasksByTeam(teamId);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        StreamingResponseBody body = taskExportService.exportUserTasks(exportFormat);
+        return ResponseEntity.ok().headers(exportFormat.headers("tasks")).body(body);
+    }
+
+    @GetMapping("/query")
+    public TaskPageDTO queryTasks(@ModelAttribute TaskQueryDTO query) {
+        return taskService.queryTasks(query);
+    }
+
+    @GetMapping("/search")
+    public TaskPageDTO searchTasks(@RequestParam String q,
+                                   @RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "20") int size) {
+        return taskService.searchTasks(q, page, size);
+    }
+
+    @GetMapping("/search/suggest")
+    public List<TaskSummaryDTO> suggestTasksByTitle(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return taskService.suggestByTitle(q, limit);
+    }
+
     @GetMapping("/search/title/{keyword}")
     public List<TaskSummaryDTO> getTasksByKeywordInTitle(@PathVariable String keyword) {
         return taskService.findByTitle(keyword);
@@ -57,6 +140,11 @@ public class TaskController {
         return taskService.findByStatus(status);
     }
 
+    @GetMapping("/stats")
+    public TaskStatusCountsDTO getTaskStatsForUser() {
+        return taskService.getUserTaskStats();
+    }
+
     @GetMapping("/statuses")
     public Status[] getAllStatuses() {
         return Status.values();
@@ -5,9 +5,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.team.*;
 import task_manager_api.model.*;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskExportService;
 import task_manager_api.service.team.TeamService;
 import java.util.List;
 
@@ -17,10 +21,12 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
+    private final TaskExportService taskExportService;
 
 
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService, TaskExportService taskExportService) {
         this.teamService = teamService;
+        this.taskExportService = taskExportService;
     }
 
     // --- Create ---
@@ -38,6 +44,14 @@ public class TeamController {
         return ResponseEntity.ok(team);
     }
 
+    @PostMapping(value = "/{teamId}/members/add", params = "view=compact")
+    public ResponseEntity<TeamOverviewDTO> addUserToTeamCompact(@PathVariable Long teamId,
+                                                                @Valid @RequestBody AddTeamMemberDTO memberDTO,
+                                                                @RequestParam(defaultValue = "MEMBER")TeamRole role) {
+        TeamOverviewDTO team = teamService.addUserToTeamOverview(teamId, memberDTO.getIdentifier(), role);
+        return ResponseEntity.ok(team);
+    }
+
     // --- Read ---
     @GetMapping
     public ResponseEntity<List<TeamResponseDTO>> getUserTeams() {
@@ -45,6 +59,13 @@ public class TeamController {
         return ResponseEntity.ok(teams);
     }
 
+    // ?view=compact returns member and task counts instead of the full member and task lists
+    @GetMapping(params = "view=compact")
+    public ResponseEntity<List<TeamOverviewDTO>> getUserTeamsCompact() {
+        List<TeamOverviewDTO> teams = teamService.getTeamOverviewsForUser();
+        return ResponseEntity.ok(teams);
+    }
+
     // so deve ter acesso aqui quem fizer parte da equipa
     @GetMapping("/{teamId}/members")
     public ResponseEntity<List<UserMemberDTO>> getTeamMembers(@PathVariable Long teamId) {
@@ -59,6 +80,19 @@ public class TeamController {
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/{teamId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportTeamTasks(@PathVariable Long teamId,
+                                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        StreamingResponseBody body = taskExportService.exportTeamTasks(teamId, exportFormat);
+        return ResponseEntity.ok().headers(exportFormat.headers("team-" + teamId + "-tasks")).body(body);
+    }
+
+    @GetMapping("/{teamId}/tasks/stats")
+    public ResponseEntity<TaskStatusCountsDTO> getTeamTaskStats(@PathVariable Long teamId) {
+        return ResponseEntity.ok(teamService.getTeamTaskStats(teamId));
+    }
+
     // --- Update ---
     @PutMapping("/{teamId}")
     public ResponseEntity<TeamResponseDTO> updateTeam(@PathVariable Long teamId,
@@ -67,6 +101,13 @@ public class TeamController {
         return ResponseEntity.ok(updated);
     }
 
+    @PutMapping(value = "/{teamId}", params = "view=compact")
+    public ResponseEntity<TeamOverviewDTO> updateTeamCompact(@PathVariable Long teamId,
+                                                             @Valid @RequestBody TeamUpdateDTO updatedTeam) {
+        TeamOverviewDTO updated = teamService.updateTeamOverview(teamId, updatedTeam);
+        return ResponseEntity.ok(updated);
+    }
+
     @PutMapping("/{teamId}/users/{userId}/role")
     public ResponseEntity<TeamResponseDTO> updateUserRole(@PathVariable Long teamId,
                                                           @PathVariable Long userId,
@@ -75,6 +116,14 @@ public class TeamController {
         return ResponseEntity.ok(dto);
     }
 
+    @PutMapping(value = "/{teamId}/users/{userId}/role", params = "view=compact")
+    public ResponseEntity<TeamOverviewDTO> updateUserRoleCompact(@PathVariable Long teamId,
+                                                                 @PathVariable Long userId,
+                                                                 @RequestParam TeamRole role) {
+        TeamOverviewDTO dto = teamService.updateUserRoleOverview(teamId, userId, role);
+        return ResponseEntity.ok(dto);
+    }
+
     // --- Delete ---
     @DeleteMapping("/{teamId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
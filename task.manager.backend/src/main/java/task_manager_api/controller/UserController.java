@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import task_manager_api.DTO.team.TeamOverviewDTO;
 import task_manager_api.DTO.team.TeamResponseDTO;
 import task_manager_api.DTO.user.UserCreateDTO;
 import task_manager_api.DTO.user.UserResponseDTO;
@@ -53,6 +54,11 @@ public class UserController {
         return ResponseEntity.ok(userService.getMyTeams());
     }
 
+    @GetMapping(value = "/profile/teams", params = "view=compact")
+    public ResponseEntity<List<TeamOverviewDTO>> getMyTeamsCompact() {
+        return ResponseEntity.ok(userService.getMyTeamOverviews());
+    }
+
     @GetMapping(params = "email")
     @PreAuthorize("isAuthenticated()")
     public UserResponseDTO findUserByEmail(@PathVariable String email) {
@@ -1,9 +1,12 @@
 package task_manager_api.mapper;
 
 import task_manager_api.DTO.task.TaskCreateDTO;
+import task_manager_api.DTO.task.TaskExportRowDTO;
+import task_manager_api.DTO.task.TaskPageRowDTO;
 import task_manager_api.DTO.task.TaskResponseDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.task.TaskUpdateDTO;
+import task_manager_api.DTO.task.TeamTaskSummaryDTO;
 import task_manager_api.DTO.team.TeamSummaryDTO;
 import task_manager_api.DTO.user.UserSummaryDTO;
 import task_manager_api.model.Task;
@@ -19,6 +22,7 @@ public class TaskMapper {
         Task task = new Task();
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
+        task.setDeadline(dto.getDeadline());
         task.setUser(user);
         task.setTeam(team);
         return task;
@@ -67,6 +71,28 @@ public class TaskMapper {
         return dto;
     }
 
+    public static TaskSummaryDTO toSummaryDTO(TeamTaskSummaryDTO teamTask) {
+        return new TaskSummaryDTO(teamTask.getId(), teamTask.getTitle(), teamTask.getStatus(), teamTask.getDeadline());
+    }
+
+    public static TaskSummaryDTO toSummaryDTO(TaskPageRowDTO row) {
+        return new TaskSummaryDTO(row.getId(), row.getTitle(), row.getStatus(), row.getDeadline());
+    }
+
+    // Reads only the ids of user and team, which does not initialize the lazy proxies
+    public static TaskExportRowDTO toExportRow(Task task) {
+        return TaskExportRowDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .createdAt(task.getDateCreated())
+                .deadline(task.getDeadline())
+                .userId(task.getUser() != null ? task.getUser().getId() : null)
+                .teamId(task.getTeam() != null ? task.getTeam().getId() : null)
+                .build();
+    }
+
     public static List<TaskResponseDTO> toResponseDTOlist(List<Task> tasks) {
         return tasks.stream().map(TaskMapper::toResponseDTO).collect(Collectors.toList());
     }
@@ -31,4 +31,16 @@ public class TeamMapper {
 
         return dto;
     }
+
+    // For callers that loaded members and tasks in bulk instead of walking the lazy collections
+    public static TeamResponseDTO toResponseDTO(Team team, List<UserMemberDTO> members, List<TaskSummaryDTO> tasks) {
+        if (team == null) return null;
+        TeamResponseDTO dto = new TeamResponseDTO();
+        dto.setTeamId(team.getId());
+        dto.setTeamName(team.getName());
+        dto.setCreatedAt(team.getCreatedAt());
+        dto.setMembers(members);
+        dto.setTasks(tasks);
+        return dto;
+    }
 }
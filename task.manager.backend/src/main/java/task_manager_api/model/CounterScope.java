@@ -0,0 +1,6 @@
+package task_manager_api.model;
+
+public enum CounterScope {
+    USER,
+    TEAM
+}
@@ -0,0 +1,7 @@
+package task_manager_api.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package task_manager_api.model;
+
+/**
+ * Entity ids come from pooled sequences: each nextval reserves a block of ids, so Hibernate
+ * can assign ids without a round trip per insert and send inserts as JDBC batches.
+ * POOL_SIZE is the default block size and must match the sequences' INCREMENT BY. In
+ * production hibernate.id.sequence.increment_size_mismatch_strategy=FIX makes Hibernate
+ * follow the database instead, so the block size can be tuned with ALTER SEQUENCE alone.
+ */
+public final class IdAllocation {
+
+    public static final int POOL_SIZE = 50;
+
+    private IdAllocation() {}
+}
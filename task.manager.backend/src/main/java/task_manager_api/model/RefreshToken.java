@@ -10,7 +10,10 @@ import java.time.Instant;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
         @Index(name = "idx_refresh_token_jti", columnList = "jti", unique = true),
-        @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        // V9 also adds idx_refresh_token_revoked_at, a partial index that cannot be mapped here
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
 })
 @Getter
 @Setter
@@ -18,7 +21,8 @@ import java.time.Instant;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = IdAllocation.POOL_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,10 +34,13 @@ public class RefreshToken {
     @Column(nullable = false, length = 64)
     private String tokenHash;
 
+    // Shared by every token rotated from the same login, so a whole session chain is revoked in one update
+    @Column(nullable = false, length = 64)
+    private String familyId;
+
     @Column(nullable = false)
     private Instant expiresAt;
 
-    @Column(nullable = false)
     private Instant revokedAt;
 
     @Column(length = 64)
@@ -9,13 +9,19 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "task", indexes = {
+        @Index(name = "idx_task_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_task_user_date_created", columnList = "user_id, date_created, id"),
+        @Index(name = "idx_task_team_date_created", columnList = "team_id, date_created")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = IdAllocation.POOL_SIZE)
     private Integer id;
 
     @NotBlank
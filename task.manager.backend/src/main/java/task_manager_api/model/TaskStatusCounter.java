@@ -0,0 +1,21 @@
+package task_manager_api.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Materialized number of tasks per (user or team, status), kept in step by TaskStatusCounterService
+@Entity
+@Table(name = "task_status_counter")
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskStatusCounter {
+
+    @EmbeddedId
+    private TaskStatusCounterId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long count;
+}
@@ -0,0 +1,29 @@
+package task_manager_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class TaskStatusCounterId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", length = 16)
+    private CounterScope scopeType;
+
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Status status;
+}
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_membership_user", columnList = "user_id"))
 @NoArgsConstructor
 @Getter
 @Setter
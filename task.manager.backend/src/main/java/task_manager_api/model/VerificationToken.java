@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class VerificationToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verification_token_seq")
+    @SequenceGenerator(name = "verification_token_seq", sequenceName = "verification_token_seq", allocationSize = IdAllocation.POOL_SIZE)
     private long id;
 
     private String token;
@@ -0,0 +1,30 @@
+package task_manager_api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import task_manager_api.model.EmailOutbox;
+import task_manager_api.model.EmailOutboxStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Rows locked by another dispatcher worker are skipped, so workers never claim the same email
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = task_manager_api.model.EmailOutboxStatus.SENT AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
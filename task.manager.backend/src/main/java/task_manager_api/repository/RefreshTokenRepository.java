@@ -1,11 +1,55 @@
 package task_manager_api.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import task_manager_api.model.RefreshToken;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByJti(String jti);
-    void deleteByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    List<RefreshToken> findAllByJtiIn(Collection<String> jtis);
+
+    // Revokes only a still-active token, so concurrent rotations of the same jti cannot both succeed
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.replacedByJti = :replacedBy WHERE t.jti = :jti AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("jti") String jti, @Param("now") Instant now, @Param("replacedBy") String replacedBy);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // One bounded batch per call so each delete holds its row locks only briefly.
+    // Expired and revoked rows are deleted separately so each select walks its own index (V9).
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens WHERE expires_at < :expiredBefore LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("expiredBefore") Instant expiredBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens WHERE revoked_at < :revokedBefore LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteRevokedBatch(@Param("revokedBefore") Instant revokedBefore, @Param("limit") int limit);
+
+    // Only exists once db/optional/refresh_tokens_partitioning.sql has been applied
+    @Query(value = "SELECT refresh_tokens_maintain_partitions(:dropBefore, :monthsAhead)", nativeQuery = true)
+    int maintainPartitions(@Param("dropBefore") Instant dropBefore, @Param("monthsAhead") int monthsAhead);
 }
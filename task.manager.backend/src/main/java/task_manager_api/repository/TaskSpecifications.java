@@ -0,0 +1,62 @@
+package task_manager_api.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+// Building blocks for dynamic task queries; a null or empty filter value yields null, which and() skips
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> ownedBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    public static Specification<Task> statusIn(Collection<Status> statuses) {
+        if (statuses == null || statuses.isEmpty()) return null;
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> inTeam(Long teamId) {
+        if (teamId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+    }
+
+    public static Specification<Task> deadlineBetween(LocalDateTime from, LocalDateTime to) {
+        return between("deadline", from, to);
+    }
+
+    public static Specification<Task> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return between("dateCreated", from, to);
+    }
+
+    public static Specification<Task> textContains(String text) {
+        if (text == null || text.isBlank()) return null;
+
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("description")), pattern, '\\')
+        );
+    }
+
+    // Inclusive on both ends; either end may be open
+    private static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) return null;
+        return (root, query, cb) -> {
+            if (from == null) return cb.lessThanOrEqualTo(root.get(attribute), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            return cb.between(root.get(attribute), from, to);
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
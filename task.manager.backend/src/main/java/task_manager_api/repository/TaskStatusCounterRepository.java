@@ -0,0 +1,81 @@
+package task_manager_api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import task_manager_api.model.CounterScope;
+import task_manager_api.model.TaskStatusCounter;
+import task_manager_api.model.TaskStatusCounterId;
+
+import java.util.List;
+
+public interface TaskStatusCounterRepository extends JpaRepository<TaskStatusCounter, TaskStatusCounterId> {
+
+    List<TaskStatusCounter> findByIdScopeTypeAndIdScopeId(CounterScope scopeType, Long scopeId);
+
+    @Modifying
+    @Query("DELETE FROM TaskStatusCounter c WHERE c.id.scopeType = :scopeType AND c.id.scopeId = :scopeId")
+    int deleteByScope(@Param("scopeType") CounterScope scopeType, @Param("scopeId") Long scopeId);
+
+    // Single-statement upsert so concurrent writers never race on creating the row
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_counter (scope_type, scope_id, status, task_count)
+            VALUES (:scopeType, :scopeId, :status, :delta)
+            ON CONFLICT (scope_type, scope_id, status)
+            DO UPDATE SET task_count = task_status_counter.task_count + EXCLUDED.task_count
+            """, nativeQuery = true)
+    void addDelta(@Param("scopeType") String scopeType,
+                  @Param("scopeId") Long scopeId,
+                  @Param("status") String status,
+                  @Param("delta") long delta);
+
+    // Reconciliation walks owners in id order; these return the next batch of owner ids
+    @Query(value = "SELECT id FROM users WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsAfter(@Param("after") long after, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM teams WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findTeamIdsAfter(@Param("after") long after, @Param("limit") int limit);
+
+    // Recounts the owners in (after, upTo] and only writes rows whose stored count differs.
+    // A task transaction committing during the recount can still be overwritten; the next run repairs it.
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_counter (scope_type, scope_id, status, task_count)
+            SELECT 'USER', user_id, status, COUNT(*) FROM task
+            WHERE user_id > :after AND user_id <= :upTo AND status IS NOT NULL
+            GROUP BY user_id, status
+            ON CONFLICT (scope_type, scope_id, status) DO UPDATE SET task_count = EXCLUDED.task_count
+            WHERE task_status_counter.task_count <> EXCLUDED.task_count
+            """, nativeQuery = true)
+    int reconcileUserCounts(@Param("after") long after, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_counter (scope_type, scope_id, status, task_count)
+            SELECT 'TEAM', team_id, status, COUNT(*) FROM task
+            WHERE team_id > :after AND team_id <= :upTo AND status IS NOT NULL
+            GROUP BY team_id, status
+            ON CONFLICT (scope_type, scope_id, status) DO UPDATE SET task_count = EXCLUDED.task_count
+            WHERE task_status_counter.task_count <> EXCLUDED.task_count
+            """, nativeQuery = true)
+    int reconcileTeamCounts(@Param("after") long after, @Param("upTo") long upTo);
+
+    // Counter rows in (after, upTo] with no task left behind them, including those of deleted owners
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_status_counter c
+            WHERE c.scope_type = 'USER' AND c.scope_id > :after AND c.scope_id <= :upTo
+              AND NOT EXISTS (SELECT 1 FROM task t WHERE t.user_id = c.scope_id AND t.status = c.status)
+            """, nativeQuery = true)
+    int deleteStaleUserCounters(@Param("after") long after, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_status_counter c
+            WHERE c.scope_type = 'TEAM' AND c.scope_id > :after AND c.scope_id <= :upTo
+              AND NOT EXISTS (SELECT 1 FROM task t WHERE t.team_id = c.scope_id AND t.status = c.status)
+            """, nativeQuery = true)
+    int deleteStaleTeamCounters(@Param("after") long after, @Param("upTo") long upTo);
+}
@@ -0,0 +1,13 @@
+package task_manager_api.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.Task;
+
+public interface TaskSummaryQueryRepository {
+
+    // Dynamic filters selected straight into the summary DTO; no COUNT query, no managed entities
+    Slice<TaskSummaryDTO> findSummaries(Specification<Task> spec, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package task_manager_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.Task;
+
+import java.util.List;
+
+public class TaskSummaryQueryRepositoryImpl implements TaskSummaryQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskSummaryDTO> findSummaries(Specification<Task> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummaryDTO> query = cb.createQuery(TaskSummaryDTO.class);
+        Root<Task> root = query.from(Task.class);
+
+        query.select(cb.construct(TaskSummaryDTO.class,
+                root.get("id"), root.get("title"), root.get("status"), root.get("deadline")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        // One extra row tells whether another page exists
+        int size = pageable.getPageSize();
+        List<TaskSummaryDTO> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+}
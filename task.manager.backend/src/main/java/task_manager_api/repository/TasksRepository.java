@@ -1,21 +1,117 @@
 package task_manager_api.repository;
 
+import task_manager_api.DTO.task.TaskPageRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.DTO.task.TeamTaskSummaryDTO;
 import task_manager_api.model.Status;
 import task_manager_api.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import task_manager_api.model.Team;
 import task_manager_api.model.User;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TasksRepository extends JpaRepository<Task, Integer> {
+public interface TasksRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task>,
+        TaskSummaryQueryRepository {
 
-    List<Task> findByUserAndTitleContainingIgnoreCase(User user, String keyword);
+    // Summary listings select straight into the DTO: no description column, no managed entities
+    String SELECT_SUMMARY = "SELECT new task_manager_api.DTO.task.TaskSummaryDTO(t.id, t.title, t.status, t.deadline) FROM Task t ";
 
-    List<Task> findByUserAndStatus(User user, Status status);
+    // The keyword is matched literally: %, _ and the escape character are escaped
+    @Query(SELECT_SUMMARY + "WHERE t.user = :user "
+            + "AND LOWER(t.title) LIKE LOWER(CONCAT('%', :#{escape(#keyword)}, '%')) ESCAPE :#{escapeCharacter()}")
+    List<TaskSummaryDTO> findSummariesByUserAndTitle(@Param("user") User user, @Param("keyword") String keyword);
 
-    List<Task> findByUser(User user);
+    @Query(SELECT_SUMMARY + "WHERE t.user = :user AND t.status = :status")
+    List<TaskSummaryDTO> findSummariesByUserAndStatus(@Param("user") User user, @Param("status") Status status);
 
-    List<Task> findByTeam(Team team);
+    @Query(SELECT_SUMMARY + "WHERE t.user = :user")
+    List<TaskSummaryDTO> findSummariesByUser(@Param("user") User user);
 
+    // Page rows also carry dateCreated, which the next-page cursor is made of
+    String SELECT_PAGE_ROW = "SELECT new task_manager_api.DTO.task.TaskPageRowDTO(t.id, t.title, t.status, t.deadline, t.dateCreated) FROM Task t ";
 
+    @Query(SELECT_PAGE_ROW + "WHERE t.user = :user")
+    Slice<TaskPageRowDTO> findPageRowsByUser(@Param("user") User user, Pageable pageable);
+
+    // Keyset page over the stable (dateCreated, id) order, starting right after the cursor position
+    @Query(SELECT_PAGE_ROW + """
+            WHERE t.user = :user
+              AND (t.dateCreated, t.id) > (:createdAt, :id)
+            ORDER BY t.dateCreated ASC, t.id ASC
+            """)
+    Slice<TaskPageRowDTO> findPageRowsByUserAfter(@Param("user") User user,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Integer id,
+                                                  Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE t.id IN :ids")
+    List<TaskSummaryDTO> findSummariesByIds(@Param("ids") Collection<Integer> ids);
+
+    // Ranked full-text search over task.search_vector (see V3__task_search_vector.sql), best matches first
+    @Query(value = """
+            SELECT t.id FROM task t
+            WHERE t.user_id = :userId AND t.search_vector @@ to_tsquery('simple', :query)
+            ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :query)) DESC, t.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Integer> searchIdsByUser(@Param("userId") Long userId,
+                                  @Param("query") String query,
+                                  @Param("limit") int limit,
+                                  @Param("offset") long offset);
+
+    // The tasks a team or user removal deletes by cascade, counted per owner, team and status
+    String SELECT_STATUS_COUNT = """
+            SELECT new task_manager_api.DTO.task.TaskStatusCountRowDTO(t.user.id, t.team.id, t.status, COUNT(t))
+            FROM Task t
+            """;
+
+    String GROUP_STATUS_COUNT = " GROUP BY t.user.id, t.team.id, t.status";
+
+    @Query(SELECT_STATUS_COUNT + "WHERE t.team = :team" + GROUP_STATUS_COUNT)
+    List<TaskStatusCountRowDTO> countByStatusForTeam(@Param("team") Team team);
+
+    @Query(SELECT_STATUS_COUNT + "WHERE t.user = :user" + GROUP_STATUS_COUNT)
+    List<TaskStatusCountRowDTO> countByStatusForUser(@Param("user") User user);
+
+    @Query(SELECT_SUMMARY + "WHERE t.team = :team")
+    List<TaskSummaryDTO> findSummariesByTeam(@Param("team") Team team);
+
+    @Query("""
+            SELECT new task_manager_api.DTO.task.TeamTaskSummaryDTO(t.team.id, t.id, t.title, t.status, t.deadline)
+            FROM Task t
+            WHERE t.team.id IN :teamIds
+            """)
+    List<TeamTaskSummaryDTO> findSummariesByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    // Full team listings touch task.user and task.team; fetch both up front instead of one select per task
+    @EntityGraph(attributePaths = {"user", "team"})
+    List<Task> findWithUserAndTeamByTeam(Team team);
+
+    // Exports read through a cursor 500 rows at a time; on PostgreSQL this needs an open transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.user = :user ORDER BY t.id")
+    Stream<Task> streamByUser(@Param("user") User user);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.team = :team ORDER BY t.id")
+    Stream<Task> streamByTeam(@Param("team") Team team);
 }
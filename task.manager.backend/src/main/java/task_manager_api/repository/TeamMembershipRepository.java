@@ -1,22 +1,52 @@
 package task_manager_api.repository;
 
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import task_manager_api.DTO.team.TeamOverviewRowDTO;
 import task_manager_api.model.Team;
 import task_manager_api.model.TeamMembership;
 import task_manager_api.model.TeamMembershipId;
 import task_manager_api.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TeamMembershipRepository extends JpaRepository<TeamMembership, TeamMembershipId> {
+
+    // One row per (team, task status) for the caller's teams, with the caller's role and the member count
+    String SELECT_OVERVIEW = """
+            SELECT new task_manager_api.DTO.team.TeamOverviewRowDTO(
+                tm.id, tm.name, tm.createdAt, m.teamRole,
+                (SELECT COUNT(o) FROM TeamMembership o WHERE o.id.teamId = tm.id),
+                t.status, COUNT(t))
+            FROM TeamMembership m
+            JOIN m.team tm
+            LEFT JOIN Task t ON t.team = tm
+            WHERE m.user = :user
+            """;
+
+    String GROUP_OVERVIEW = " GROUP BY tm.id, tm.name, tm.createdAt, m.teamRole, t.status ORDER BY tm.id";
     List<TeamMembership> findByUser(User user);
 
     List<TeamMembership> findByTeam(Team team);
 
     Optional<TeamMembership> findByTeamAndUser(Team team, User user);
 
-    void deleteAllByTeam(Team team);
+    @EntityGraph(attributePaths = "team")
+    List<TeamMembership> findWithTeamByUser(User user);
+
+    @Query("SELECT m FROM TeamMembership m JOIN FETCH m.user WHERE m.id.teamId IN :teamIds")
+    List<TeamMembership> findWithUserByTeamIds(@Param("teamIds") Collection<Long> teamIds);
 
+    @Query(SELECT_OVERVIEW + GROUP_OVERVIEW)
+    List<TeamOverviewRowDTO> findOverviewRowsByUser(@Param("user") User user);
+
+    @Query(SELECT_OVERVIEW + "AND tm = :team" + GROUP_OVERVIEW)
+    List<TeamOverviewRowDTO> findOverviewRowsByUserAndTeam(@Param("user") User user, @Param("team") Team team);
+
+    void deleteAllByTeam(Team team);
 }
@@ -19,6 +19,6 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
 
     @Modifying
     @Transactional
-    @Query("DELETE FROM VerificationToken t WHERE t.verificationExpiryDate < CURRENT_TIMESTAMP OR t.used = true")
+    @Query("DELETE FROM VerificationToken t WHERE t.verificationExpiryDate < CURRENT_TIMESTAMP")
     void deleteExpiredTokens();
 }
@@ -0,0 +1,57 @@
+package task_manager_api.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny-list for access tokens. Revoking a user rejects every access token
+ * issued to them up to the revocation instant, compared in milliseconds through the iat_ms
+ * claim, so a token obtained right after the change is accepted. Inside a transaction the
+ * revocation takes effect after commit, so a rolled-back change leaves the user signed in.
+ * Entries are dropped once all denied tokens have expired on their own, so the map only holds
+ * recently revoked users. Only consulted in stateless-principal mode. The list lives in this
+ * node's memory and is not shared: other instances accept the tokens until they expire.
+ */
+@Component
+public class AccessTokenDenyList {
+
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final long accessExpirationMs;
+
+    public AccessTokenDenyList(JwtTokenProvider jwtTokenProvider) {
+        this.accessExpirationMs = jwtTokenProvider.getAccessExpirationMs();
+    }
+
+    public void denyUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+                }
+            });
+        } else {
+            revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        }
+    }
+
+    public boolean isDenied(ParsedToken token) {
+        Instant cutoff = revokedBefore.get(token.userId());
+        if (cutoff == null) return false;
+        // Legacy tokens carry only a truncated iat, which never postdates the real issue time
+        return token.issuedAt() == null || !token.issuedAt().toInstant().isAfter(cutoff);
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        Instant oldestLiveToken = Instant.now().minusMillis(accessExpirationMs);
+        revokedBefore.values().removeIf(cutoff -> cutoff.isBefore(oldestLiveToken));
+    }
+}
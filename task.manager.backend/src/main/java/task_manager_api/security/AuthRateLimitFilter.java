@@ -0,0 +1,175 @@
+package task_manager_api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login, register and resend-verification before they reach bcrypt or the mail outbox.
+ * The username or email is read from the start of the JSON body, which is then replayed to the
+ * controller unchanged. Registered by SecurityConfig rather than as a bean, so it runs only inside
+ * the security chain. Clients are keyed by remote address; behind a proxy, set
+ * server.forward-headers-strategy so that address is the client's.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    // Auth bodies are a few hundred bytes; anything past this is still passed on, just not parsed
+    private static final int MAX_INSPECTED_BYTES = 8192;
+
+    private static final Map<String, Endpoint> ENDPOINTS = Map.of(
+            "/api/auth/login", new Endpoint(AuthRateLimiter.LOGIN, "username"),
+            "/api/auth/register", new Endpoint(AuthRateLimiter.REGISTER, "email"),
+            "/api/auth/resend-verification", new Endpoint(AuthRateLimiter.RESEND_VERIFICATION, "email")
+    );
+
+    private final AuthRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public AuthRateLimitFilter(AuthRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimiter.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !ENDPOINTS.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Endpoint endpoint = ENDPOINTS.get(request.getRequestURI());
+        byte[] head = request.getInputStream().readNBytes(MAX_INSPECTED_BYTES + 1);
+
+        long wait = rateLimiter.tryAcquire(endpoint.name(), request.getRemoteAddr(), identity(head, endpoint.identityField()));
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, please retry in " + retryAfter + " seconds");
+            return;
+        }
+
+        filterChain.doFilter(new ReplayedBodyRequest(request, head), response);
+    }
+
+    private String identity(byte[] head, String field) {
+        if (head.length == 0 || head.length > MAX_INSPECTED_BYTES) return null;
+        try {
+            JsonNode value = objectMapper.readTree(head).get(field);
+            return value == null || !value.isTextual() ? null : value.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; the IP bucket still applies
+            return null;
+        }
+    }
+
+    private record Endpoint(String name, String identityField) {
+    }
+
+    // Serves the bytes already read, then whatever is left of the original stream
+    private static class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private ServletInputStream inputStream;
+
+        ReplayedBodyRequest(HttpServletRequest request, byte[] head) {
+            super(request);
+            this.head = head;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new ReplayedInputStream(head, super.getInputStream());
+            }
+            return inputStream;
+        }
+    }
+
+    private static class ReplayedInputStream extends ServletInputStream {
+
+        private final byte[] head;
+        private final ServletInputStream rest;
+        private int position;
+
+        ReplayedInputStream(byte[] head, ServletInputStream rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < head.length) return head[position++] & 0xFF;
+            return rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (position < head.length) {
+                int n = Math.min(length, head.length - position);
+                System.arraycopy(head, position, buffer, offset, n);
+                position += n;
+                return n;
+            }
+            return rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= head.length && rest.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < head.length || rest.isReady();
+        }
+
+        // The container drives the listener from the original stream; when that stream is already
+        // drained it goes straight to onAllDataRead, so the replayed bytes are offered first
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            rest.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    readListener.onDataAvailable();
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    if (position < head.length) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    readListener.onError(t);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package task_manager_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token buckets for the unauthenticated auth endpoints, one per (endpoint, client IP) and one per
+ * (endpoint, normalized username or email), each allowing its configured number of requests per
+ * window. Buckets live in a bounded map and are dropped after a window without requests, when
+ * they would be full again anyway. Limits are per instance, like the other in-memory auth state.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String REGISTER = "register";
+    public static final String RESEND_VERIFICATION = "resend-verification";
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final Map<String, Limit> limits;
+    private final Cache<String, RateLimitBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.auth.rate-limit.window-seconds:60}") long windowSeconds,
+            @Value("${app.auth.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${app.auth.rate-limit.login.per-ip:20}") int loginPerIp,
+            @Value("${app.auth.rate-limit.login.per-identity:5}") int loginPerIdentity,
+            @Value("${app.auth.rate-limit.register.per-ip:5}") int registerPerIp,
+            @Value("${app.auth.rate-limit.register.per-identity:3}") int registerPerIdentity,
+            @Value("${app.auth.rate-limit.resend-verification.per-ip:5}") int resendPerIp,
+            @Value("${app.auth.rate-limit.resend-verification.per-identity:3}") int resendPerIdentity
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.windowNanos = Duration.ofSeconds(windowSeconds).toNanos();
+        this.limits = Map.of(
+                LOGIN, new Limit(loginPerIp, loginPerIdentity),
+                REGISTER, new Limit(registerPerIp, registerPerIdentity),
+                RESEND_VERIFICATION, new Limit(resendPerIp, resendPerIdentity)
+        );
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds))
+                .build();
+        Gauge.builder("app.rate_limit.keys", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the IP bucket and, when an identity is known, from the identity bucket.
+     * Returns 0 when the request may proceed, otherwise the nanoseconds until it could.
+     */
+    public long tryAcquire(String endpoint, String ip, String identity) {
+        Limit limit = limits.get(endpoint);
+        if (limit == null) return 0;
+
+        long wait = acquire(endpoint, "ip", ip, limit.perIp());
+        if (wait == 0 && identity != null && !identity.isBlank()) {
+            wait = acquire(endpoint, "identity", identity, limit.perIdentity());
+        }
+        return wait;
+    }
+
+    private long acquire(String endpoint, String scope, String value, int perWindow) {
+        RateLimitBucket bucket = buckets.get(endpoint + '|' + scope + '|' + value,
+                key -> new RateLimitBucket(perWindow, windowNanos));
+        long wait = bucket.tryAcquire();
+        if (wait > 0) rejected(endpoint, scope).increment();
+        return wait;
+    }
+
+    private Counter rejected(String endpoint, String scope) {
+        return Counter.builder("app.rate_limit.rejected")
+                .description("Auth requests rejected by the rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", scope)
+                .register(meterRegistry);
+    }
+
+    private record Limit(int perIp, int perIdentity) {
+    }
+}
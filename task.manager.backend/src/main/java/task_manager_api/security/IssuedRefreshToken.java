@@ -0,0 +1,10 @@
+package task_manager_api.security;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed refresh token together with the jti and expiry written into it,
+ * so the caller can store the token without parsing it back.
+ */
+public record IssuedRefreshToken(String token, String jti, Instant expiresAt) {
+}
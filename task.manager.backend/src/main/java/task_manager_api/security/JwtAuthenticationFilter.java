@@ -21,6 +21,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final AccessTokenDenyList accessTokenDenyList;
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -38,22 +39,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtTokenProvider.validateToken(token)) {
-                String typ = jwtTokenProvider.getTokenType(token);
-                if (!"access".equals(typ)) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                Long userId = jwtTokenProvider.getUserIdFromToken(token);
-
-                if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserById(userId);
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            ParsedToken parsed = jwtTokenProvider.parse(token);
+            if (!parsed.isAccessToken()) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            Long userId = parsed.userId();
+            // Only stateless principals skip the user lookup, so only they need the deny list
+            boolean stateless = jwtTokenProvider.isStatelessPrincipal();
+
+            if (userId != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !(stateless && accessTokenDenyList.isDenied(parsed))) {
+                UserDetails userDetails = stateless && parsed.hasPrincipalClaims()
+                        ? new UserPrincipal(userId, parsed.username(), parsed.verified())
+                        : userDetailsService.loadUserById(userId);
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         filterChain.doFilter(request, response);
@@ -1,12 +1,16 @@
 package task_manager_api.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import task_manager_api.model.User;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
@@ -15,90 +19,105 @@ public class JwtTokenProvider {
 
     public static final String CLAIM_TYP = "typ"; // access or refresh
     public static final String CLAIM_JTI = "jti"; // unique token id
+    public static final String CLAIM_USERNAME = "usr"; // principal username, access tokens only
+    public static final String CLAIM_VERIFIED = "ver"; // principal verified flag, access tokens only
+    public static final String CLAIM_ISSUED_AT_MS = "iat_ms"; // issue time in ms; iat only has seconds
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
 
     private final Key jwtSecret;
+    private final JwtParser jwtParser; // immutable and thread-safe, built once
     private final long accessExpirationMs;
     private final long refreshTokenExpirationMs;
+    private final boolean statelessPrincipal;
 
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.access-expiration-ms:900000}") long accessExpirationMs,       // 15 min
-            @Value("${app.jwt.refresh-expiration-ms:1209600000}") long refreshTokenExpirationMs // 14 days
+            @Value("${app.jwt.refresh-expiration-ms:1209600000}") long refreshTokenExpirationMs, // 14 days
+            // Opt-in: build the principal from access token claims instead of loading the user per request
+            @Value("${app.jwt.stateless-principal.enabled:false}") boolean statelessPrincipal,
+            // Stateless tokens cannot be revoked by a DB lookup, so they get a shorter lifetime
+            @Value("${app.jwt.stateless-principal.access-expiration-ms:300000}") long statelessAccessExpirationMs // 5 min
     ) {
         this.jwtSecret = Keys.hmacShaKeyFor(secret.getBytes());
-        this.accessExpirationMs = accessExpirationMs;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecret).build();
+        this.accessExpirationMs = statelessPrincipal ? statelessAccessExpirationMs : accessExpirationMs;
         this.refreshTokenExpirationMs = refreshTokenExpirationMs;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
     }
 
-    public String generateAccessToken(Long userId) {
-        return generateToken(userId, "access", accessExpirationMs);
+    public long getAccessExpirationMs() {
+        return accessExpirationMs;
     }
 
-    public String generateRefreshToken(Long userId) {
-        return generateToken(userId, "refresh", refreshTokenExpirationMs);
+    public String generateAccessToken(User user) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(String.valueOf(user.getId()))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessExpirationMs))
+                .claim(CLAIM_ISSUED_AT_MS, now)
+                .claim(CLAIM_TYP, TYPE_ACCESS)
+                .claim(CLAIM_JTI, UUID.randomUUID().toString())
+                .claim(CLAIM_USERNAME, user.getUsername())
+                .claim(CLAIM_VERIFIED, user.isVerified())
+                .signWith(jwtSecret, SignatureAlgorithm.HS256)
+                .compact();
     }
 
-    private String generateToken(Long userId, String typ, long ttlMs) {
+    public IssuedRefreshToken generateRefreshToken(Long userId) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + ttlMs);
+        Date expiryDate = new Date(now.getTime() + refreshTokenExpirationMs);
 
         String jti = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .setSubject(String.valueOf(userId))
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .claim(CLAIM_TYP, typ)
+                .claim(CLAIM_TYP, TYPE_REFRESH)
                 .claim(CLAIM_JTI, jti)
                 .signWith(jwtSecret, SignatureAlgorithm.HS256)
                 .compact();
+        // exp is stored in whole seconds, so report the expiry a parse of the token would give
+        return new IssuedRefreshToken(token, jti, Instant.ofEpochSecond(expiryDate.getTime() / 1000));
     }
 
-    public Long getUserIdFromToken(String token) {
-        String subject = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-        return Long.parseLong(subject);
-    }
-
-    public String getTokenType(String token) {
-        Object typ = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get(CLAIM_TYP);
-        return typ == null ? null : typ.toString();
-    }
-
-    public String getJti(String token) {
-        Object jti = Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get(CLAIM_JTI);
-        return jti == null ? null : jti.toString();
+    /**
+     * Verifies the signature once and extracts every claim the application needs.
+     * Returns {@link ParsedToken#INVALID} instead of throwing for malformed, tampered or expired tokens.
+     */
+    public ParsedToken parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            return new ParsedToken(
+                    true,
+                    Long.parseLong(claims.getSubject()),
+                    asString(claims.get(CLAIM_TYP)),
+                    asString(claims.get(CLAIM_JTI)),
+                    issuedAt(claims),
+                    claims.getExpiration(),
+                    claims.get(CLAIM_USERNAME, String.class),
+                    claims.get(CLAIM_VERIFIED, Boolean.class)
+            );
+        } catch (JwtException | IllegalArgumentException ex) {
+            return ParsedToken.INVALID;
+        }
     }
 
-    public Date getExpiration(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(jwtSecret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+    // Tokens issued before iat_ms existed fall back to the second-precision iat
+    private static Date issuedAt(Claims claims) {
+        Long issuedAtMs = claims.get(CLAIM_ISSUED_AT_MS, Long.class);
+        return issuedAtMs != null ? new Date(issuedAtMs) : claims.getIssuedAt();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(jwtSecret).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException ex) {
-            return false;
-        }
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
     }
 }
@@ -0,0 +1,32 @@
+package task_manager_api.security;
+
+import java.util.Date;
+
+/**
+ * Immutable view of a JWT after a single parse-and-verify pass.
+ * Callers should check {@link #valid()} (or the typed helpers) before trusting the claims.
+ */
+public record ParsedToken(boolean valid,
+                          Long userId,
+                          String type,
+                          String jti,
+                          Date issuedAt,
+                          Date expiration,
+                          String username,
+                          Boolean verified) {
+
+    public static final ParsedToken INVALID = new ParsedToken(false, null, null, null, null, null, null, null);
+
+    public boolean isAccessToken() {
+        return valid && JwtTokenProvider.TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return valid && JwtTokenProvider.TYPE_REFRESH.equals(type);
+    }
+
+    /** Access tokens issued before stateless mode existed carry no principal claims. */
+    public boolean hasPrincipalClaims() {
+        return username != null && verified != null;
+    }
+}
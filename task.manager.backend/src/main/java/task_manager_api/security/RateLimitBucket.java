@@ -0,0 +1,33 @@
+package task_manager_api.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time"
+ * updated by compare-and-set, so concurrent requests on the same key never block each other.
+ * Allows {@code capacity} requests at once and refills one every {@code period / capacity}.
+ */
+public class RateLimitBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public RateLimitBucket(int capacity, long periodNanos) {
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanoseconds until the next one is available
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) return ahead - burstNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) return 0;
+        }
+    }
+}
@@ -25,6 +25,14 @@ public class UserPrincipal implements UserDetails {
         this.verified = user.isVerified();
     }
 
+    // Built from access token claims in stateless mode; no password hash is available
+    public UserPrincipal(Long id, String username, boolean verified) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.verified = verified;
+    }
+
     @Override
     public String getUsername() {
         return username;
@@ -4,24 +4,26 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import task_manager_api.DTO.Auth.LoginRequest;
 import task_manager_api.DTO.Auth.RegisterRequest;
 import task_manager_api.exceptions.BadRequestException;
 import task_manager_api.exceptions.ConflictException;
 import task_manager_api.exceptions.ResourceNotFoundException;
+import task_manager_api.exceptions.TooManyRequestsException;
 import task_manager_api.exceptions.UnauthorizedActionException;
 import task_manager_api.model.RefreshToken;
 import task_manager_api.model.User;
 import task_manager_api.model.VerificationToken;
-import task_manager_api.repository.RefreshTokenRepository;
 import task_manager_api.repository.UserRepository;
 import task_manager_api.repository.VerificationTokenRepository;
+import task_manager_api.security.IssuedRefreshToken;
 import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.security.ParsedToken;
 import task_manager_api.service.notification.EmailService;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.time.Instant;
 import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
@@ -35,7 +37,10 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final EmailService emailService;
     private final VerificationTokenRepository verificationTokenRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordVerifier passwordVerifier;
+    private final TransactionTemplate transactionTemplate;
 
     private static String sha256Hex(String value) {
         try {
@@ -82,7 +87,9 @@ public class AuthService {
         emailService.sendVerificationEmail(user.getEmail(), link);
     }
 
-    @Transactional
+    // Not @Transactional: the password check may wait on the verification pool, and must not hold
+    // a pooled connection while it does. Only the writes at the end run in a short transaction.
+    // /api/auth/** is left out of open-in-view (WebConfig) so the lookup's connection is released too.
     public Map<String, String> login(LoginRequest request) {
         String username = request.getUsername() == null ? "" : request.getUsername().trim();
         User user = userRepository.findByUsername(username)
@@ -92,45 +99,66 @@ public class AuthService {
             throw new UnauthorizedActionException("Please verify your email before logging in.");
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordVerifier.matches(request.getPassword(), user.getPassword())) {
             throw new UnauthorizedActionException("Invalid credentials");
         }
 
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId());
+        // The raw password is only available here, so hashes made with an older cost or format are replaced now
+        String upgradedHash = passwordEncoder.upgradeEncoding(user.getPassword())
+                ? rehash(request.getPassword())
+                : null;
+
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
+        IssuedRefreshToken refreshToken = jwtTokenProvider.generateRefreshToken(user.getId());
 
         RefreshToken rt = new RefreshToken();
         rt.setUserId(user.getId());
-        rt.setJti(jwtTokenProvider.getJti(refreshToken));
-        rt.setTokenHash(sha256Hex(accessToken));
-        rt.setExpiresAt(jwtTokenProvider.getExpiration(refreshToken).toInstant());
-        refreshTokenRepository.save(rt);
+        rt.setJti(refreshToken.jti());
+        rt.setTokenHash(sha256Hex(refreshToken.token()));
+        rt.setFamilyId(refreshToken.jti()); // a login starts a new family named after its first token
+        rt.setExpiresAt(refreshToken.expiresAt());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (upgradedHash != null) {
+                user.setPassword(upgradedHash);
+                userRepository.save(user);
+                userDetailsService.evictUser(user.getId());
+            }
+            refreshTokenStore.save(rt);
+        });
 
         return Map.of(
                 "accessToken", accessToken,
-                "refreshToken", refreshToken
+                "refreshToken", refreshToken.token()
         );
     }
 
-    @Transactional
+    // Hashed on the verification pool like the check itself; when that pool is busy the upgrade
+    // waits for the next login instead of failing this one
+    private String rehash(String rawPassword) {
+        try {
+            return passwordVerifier.encode(rawPassword);
+        } catch (TooManyRequestsException e) {
+            return null;
+        }
+    }
+
+    // Keeps the family revocation when reuse is reported to the caller
+    @Transactional(noRollbackFor = UnauthorizedActionException.class)
     public Map<String, String> refresh(String refreshToken) {
         if(refreshToken == null || refreshToken.isBlank()) {
             throw new BadRequestException("Refresh token is required");
         }
 
-        if(!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new UnauthorizedActionException("Invalid refresh token");
-        }
-
-        String typ = jwtTokenProvider.getTokenType(refreshToken);
-        if(!"refresh".equals(typ)) {
+        ParsedToken parsed = jwtTokenProvider.parse(refreshToken);
+        if(!parsed.isRefreshToken()) {
             throw new UnauthorizedActionException("Invalid refresh token");
         }
 
-        Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-        String jti = jwtTokenProvider.getJti(refreshToken);
+        Long userId = parsed.userId();
+        String jti = parsed.jti();
 
-        RefreshToken stored = refreshTokenRepository.findByJti(jti)
+        RefreshToken stored = refreshTokenStore.findByJti(jti)
                 .orElseThrow(() -> new UnauthorizedActionException("Refresh token not recognized"));
 
         String hash = sha256Hex(refreshToken);
@@ -138,29 +166,38 @@ public class AuthService {
             throw new UnauthorizedActionException("Refresh token mismatch");
         }
 
+        // A rotated token presented again means it leaked: end every session rotated from that login
+        if(stored.isRevoked() && stored.getReplacedByJti() != null) {
+            refreshTokenStore.revokeFamily(stored.getFamilyId());
+            throw new UnauthorizedActionException("Refresh token reuse detected");
+        }
+
         if(stored.isRevoked() || stored.isExpired()) {
             throw new UnauthorizedActionException("Refresh token revoked or expired");
         }
 
-        // Rotation -> revoke old refresh, issue and save new refresh
-        stored.setRevokedAt(Instant.now());
-
-        String newAccess = jwtTokenProvider.generateAccessToken(userId);
-        String newRefresh = jwtTokenProvider.generateRefreshToken(userId);
+        // Access tokens may carry principal claims, so issue them from the current user row
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UnauthorizedActionException("Refresh token not recognized"));
 
-        stored.setReplacedByJti(jwtTokenProvider.getJti(newRefresh));
-        refreshTokenRepository.save(stored);
+        String newAccess = jwtTokenProvider.generateAccessToken(user);
+        IssuedRefreshToken newRefresh = jwtTokenProvider.generateRefreshToken(userId);
 
         RefreshToken newReplacement = new RefreshToken();
         newReplacement.setUserId(userId);
-        newReplacement.setJti(jwtTokenProvider.getJti(newRefresh));
-        newReplacement.setTokenHash(sha256Hex(refreshToken));
-        newReplacement.setExpiresAt(jwtTokenProvider.getExpiration(refreshToken).toInstant());
-        refreshTokenRepository.save(newReplacement);
+        newReplacement.setJti(newRefresh.jti());
+        newReplacement.setTokenHash(sha256Hex(newRefresh.token()));
+        newReplacement.setFamilyId(stored.getFamilyId());
+        newReplacement.setExpiresAt(newRefresh.expiresAt());
+
+        // Rotation -> revoke old refresh and save new refresh in one step; losing a concurrent race counts as revoked
+        if (!refreshTokenStore.rotate(jti, newReplacement)) {
+            throw new UnauthorizedActionException("Refresh token revoked or expired");
+        }
 
         return Map.of(
                 "accessToken", newAccess,
-                "refreshToken", newRefresh
+                "refreshToken", newRefresh.token()
         );
 
     }
@@ -186,6 +223,7 @@ public class AuthService {
 
         user.setVerified(true);
         userRepository.save(user);
+        userDetailsService.evictUser(user.getId());
         verificationTokenRepository.delete(verificationToken);
     }
 
@@ -209,8 +247,5 @@ public class AuthService {
 
         String link = url + "/api/auth/verify?token=" + newToken;
         emailService.sendVerificationEmail(user.getEmail(), link);
-
-        System.out.println("Resent verification email to " + user.getEmail());
-
     }
 }
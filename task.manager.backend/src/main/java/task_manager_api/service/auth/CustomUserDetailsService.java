@@ -1,25 +1,64 @@
 package task_manager_api.service.auth;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import task_manager_api.model.User;
 import task_manager_api.repository.UserRepository;
 import task_manager_api.security.UserPrincipal;
 
+import java.time.Duration;
+
 @Service
 public class CustomUserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<Long, UserPrincipal> principalCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
         this.userRepository = userRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "userPrincipals");
     }
 
     public UserDetails loadUserById(Long userId) throws UsernameNotFoundException{
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new UserPrincipal(user);
+        return principalCache.get(userId, id -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            return new UserPrincipal(user);
+        });
+    }
+
+    // Evicts now and again once the surrounding transaction ends, so a concurrent
+    // request cannot re-cache the pre-update row in between
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+
+        principalCache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principalCache.invalidate(userId);
+                }
+            });
+        }
     }
 }
@@ -0,0 +1,405 @@
+package task_manager_api.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Serves refresh tokens from memory and inserts new ones into refresh_tokens behind the request.
+ * Tokens live in a Caffeine map until they expire, so lookups cost no database round trip and
+ * login does not wait for an insert. New tokens wait in a pending map that a scheduled flush
+ * writes in batches; lookups fall back to pending and then to the table, so tokens issued
+ * before a restart or evicted for size keep working.
+ * Revocation is never deferred: rotation revokes the old row with a conditional UPDATE in the
+ * caller's transaction (inserting the row first, in that same transaction, if its own insert is
+ * still pending), so a rotated token can never come back after a restart and reuse detection
+ * stays correct. Only the replacement's insert is deferred; if the process dies before it is
+ * flushed, that client has to log in again.
+ * Family and user revocation run one bulk update on the table and then revoke the family's or
+ * user's tokens in memory through secondary indexes, so they never scan the cache; a flush
+ * never clears a revocation it finds in the table and re-writes a copy revoked while in flight.
+ * Inside a transaction every in-memory change is applied after commit, so a rolled-back login,
+ * rotation or revocation leaves memory as the table has it. A token saved in a transaction waits
+ * in a committing map (already indexed) until then, where a revocation committed first still
+ * reaches it.
+ * Request paths never wait on flushLock or open a second transaction, so they cannot starve the
+ * connection pool: each pending row is claimed once, by either the flush or a rotation, and a
+ * rotation only waits for a flush whose transaction already holds its connection.
+ * Like AccessTokenDenyList this assumes a single instance: with several, use the jpa store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transaction;
+    private final Cache<String, RefreshToken> tokens;
+    private final ConcurrentMap<String, RefreshToken> pending = new ConcurrentHashMap<>();
+    // Tokens saved in a transaction that has not committed yet
+    private final ConcurrentMap<String, RefreshToken> committing = new ConcurrentHashMap<>();
+    // Jtis whose row nobody has claimed to insert yet; removing one claims its insert
+    private final Set<String> unflushed = ConcurrentHashMap.newKeySet();
+    // Jtis claimed by a flush whose transaction has not finished; released when it does
+    private final ConcurrentMap<String, CountDownLatch> inserting = new ConcurrentHashMap<>();
+    // Only serialises flushes with each other
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Jtis held in memory (cached or pending) per family and per user
+    private final ConcurrentMap<String, Set<String>> jtisByFamily = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<String>> jtisByUser = new ConcurrentHashMap<>();
+    private final int flushBatchSize;
+    private final Counter flushed;
+
+    public InMemoryRefreshTokenStore(
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.refresh-tokens.memory.max-entries:500000}") long maxEntries,
+            @Value("${app.auth.refresh-tokens.memory.flush-batch-size:500}") int flushBatchSize
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        // The flush runs on the scheduler, but never joins a caller's transaction at shutdown either
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushBatchSize = flushBatchSize;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilTokenExpiry())
+                .evictionListener((String jti, RefreshToken token, RemovalCause cause) -> {
+                    if (token != null && !pending.containsKey(jti)) unindex(token);
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "refreshTokens");
+        this.flushed = Counter.builder("app.refresh_tokens.write_behind.flushed")
+                .description("Refresh token changes written to the database by the write-behind flush")
+                .register(meterRegistry);
+        Gauge.builder("app.refresh_tokens.write_behind.pending", pending, Map::size)
+                .description("Refresh token changes not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        RefreshToken copy = copyOf(token);
+        String jti = copy.getJti();
+        index(copy);
+        committing.put(jti, copy);
+        // Published under the committing entry's lock, so a concurrent revocation sees it in one map or the other
+        afterCompletion(
+                () -> committing.computeIfPresent(jti, (key, committed) -> {
+                    publish(committed);
+                    return null;
+                }),
+                () -> {
+                    if (committing.remove(jti) != null) unindex(copy);
+                });
+    }
+
+    @Override
+    public Optional<RefreshToken> findByJti(String jti) {
+        RefreshToken token = tokens.getIfPresent(jti);
+        if (token != null) return Optional.of(token);
+
+        return Optional.ofNullable(tokens.asMap().computeIfAbsent(jti, this::load));
+    }
+
+    // The conditional UPDATE is the compare-and-set: concurrent rotations of one jti block on its
+    // row lock and all but the first see it revoked
+    @Override
+    public boolean rotate(String jti, RefreshToken replacement) {
+        RefreshToken current = findByJti(jti).orElse(null);
+        if (current == null || current.isRevoked()) return false;
+
+        insertIfUnflushed(jti);
+        Instant now = Instant.now();
+        if (refreshTokenRepository.revokeIfActive(jti, now, replacement.getJti()) == 0) {
+            // Revoked in the table by someone else; drop the stale copy so the next read sees that
+            tokens.invalidate(jti);
+            return false;
+        }
+
+        UnaryOperator<RefreshToken> revoke = token -> {
+            RefreshToken revoked = copyOf(token);
+            revoked.setRevokedAt(now);
+            revoked.setReplacedByJti(replacement.getJti());
+            return revoked;
+        };
+        afterCompletion(() -> {
+            tokens.asMap().computeIfPresent(jti, (key, token) -> revoke.apply(token));
+            pending.computeIfPresent(jti, (key, token) -> revoke.apply(token));
+        }, () -> {});
+
+        save(replacement);
+        return true;
+    }
+
+    // The index is read after commit. A concurrent rotation either committed first, and its
+    // replacement was indexed before that, or its conditional UPDATE waits on the bulk update and
+    // then loses.
+    @Override
+    public void revokeFamily(String familyId) {
+        Instant now = Instant.now();
+        refreshTokenRepository.revokeFamily(familyId, now);
+        afterCompletion(() -> revokeInMemory(jtisByFamily.get(familyId), now), () -> {});
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        Instant now = Instant.now();
+        refreshTokenRepository.revokeAllForUser(userId, now);
+        afterCompletion(() -> revokeInMemory(jtisByUser.get(userId), now), () -> {});
+    }
+
+    // Writes pending changes in batches; a change made while its batch was being written stays pending
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.memory.flush-interval-ms:1000}")
+    public int flush() {
+        int total = 0;
+        int rounds = pending.size() / flushBatchSize + 1;
+        for (int round = 0; round < rounds; round++) {
+            flushLock.lock();
+            try {
+                List<RefreshToken> batch = pending.values().stream().limit(flushBatchSize).toList();
+                if (batch.isEmpty()) break;
+
+                int written = writeCommitted(batch);
+                // Nothing in this batch could be written yet (rotations still in their transactions hold it)
+                if (written == 0) break;
+                total += written;
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // Helpers
+    // Inside a transaction, committed runs after commit and rolledBack after a rollback; outside one, committed runs now
+    private static void afterCompletion(Runnable committed, Runnable rolledBack) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) rolledBack.run();
+                }
+            });
+        } else {
+            committed.run();
+        }
+    }
+
+    private void publish(RefreshToken token) {
+        unflushed.add(token.getJti());
+        pending.put(token.getJti(), token);
+        tokens.put(token.getJti(), token);
+    }
+
+    // Pending inserts carry the revocation into the table. Flushed rows were revoked by the bulk
+    // update, but a flush may have inserted an active copy after it ran, so a cached token that
+    // was still active is queued again for the next flush to revoke its row.
+    private void revokeInMemory(Set<String> jtis, Instant now) {
+        if (jtis == null) return;
+
+        for (String jti : jtis) {
+            committing.computeIfPresent(jti, (key, token) -> revoked(token, now));
+            boolean wasPending = pending.computeIfPresent(jti, (key, token) -> revoked(token, now)) != null;
+
+            RefreshToken cached = tokens.getIfPresent(jti);
+            if (cached == null || cached.isRevoked()) continue;
+            RefreshToken revokedCopy = revoked(cached, now);
+            if (tokens.asMap().replace(jti, cached, revokedCopy) && !wasPending) pending.putIfAbsent(jti, revokedCopy);
+        }
+    }
+
+    private static RefreshToken revoked(RefreshToken token, Instant now) {
+        if (token.isRevoked()) return token;
+
+        RefreshToken revoked = copyOf(token);
+        revoked.setRevokedAt(now);
+        return revoked;
+    }
+
+    private void index(RefreshToken token) {
+        jtisByFamily.compute(token.getFamilyId(), (key, jtis) -> withJti(jtis, token.getJti()));
+        jtisByUser.compute(token.getUserId(), (key, jtis) -> withJti(jtis, token.getJti()));
+    }
+
+    private void unindex(RefreshToken token) {
+        jtisByFamily.computeIfPresent(token.getFamilyId(), (key, jtis) -> withoutJti(jtis, token.getJti()));
+        jtisByUser.computeIfPresent(token.getUserId(), (key, jtis) -> withoutJti(jtis, token.getJti()));
+    }
+
+    private static Set<String> withJti(Set<String> jtis, String jti) {
+        Set<String> set = jtis != null ? jtis : ConcurrentHashMap.newKeySet();
+        set.add(jti);
+        return set;
+    }
+
+    private static Set<String> withoutJti(Set<String> jtis, String jti) {
+        jtis.remove(jti);
+        return jtis.isEmpty() ? null : jtis;
+    }
+
+    // A token rotated before its own insert was flushed gets its row now, in the caller's
+    // transaction, so the revoke has a row to hit. If a flush is already inserting it, wait for
+    // that transaction (which holds its connection) rather than let the revoke miss the row.
+    // A rollback takes the row with it, so the claim is handed back for the flush to insert.
+    private void insertIfUnflushed(String jti) {
+        while (true) {
+            RefreshToken token = pending.get(jti);
+            if (token != null && unflushed.remove(jti)) {
+                afterCompletion(() -> {}, () -> unflushed.add(jti));
+                refreshTokenRepository.save(copyOf(token));
+                return;
+            }
+            CountDownLatch flushing = inserting.get(jti);
+            if (flushing == null) return;
+            try {
+                flushing.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int writeCommitted(List<RefreshToken> batch) {
+        CountDownLatch done = new CountDownLatch(1);
+        Set<String> claimed = new HashSet<>();
+        Set<String> settled = new HashSet<>();
+        boolean committed = false;
+        try {
+            transaction.executeWithoutResult(status -> {
+                // Claimed only now that this transaction has its connection; marked in flight before
+                // leaving unflushed, so a rotation that loses the claim always finds the latch
+                for (RefreshToken token : batch) {
+                    inserting.put(token.getJti(), done);
+                    if (unflushed.remove(token.getJti())) {
+                        claimed.add(token.getJti());
+                    } else {
+                        inserting.remove(token.getJti(), done);
+                    }
+                }
+                settled.addAll(write(batch, claimed));
+            });
+            committed = true;
+        } finally {
+            // A failed flush hands its claims back before waking rotations, so they can insert instead
+            if (!committed) unflushed.addAll(claimed);
+            claimed.forEach(jti -> inserting.remove(jti, done));
+            done.countDown();
+        }
+        for (RefreshToken token : batch) {
+            // A row claimed by a rotation whose transaction is still open stays pending: if that
+            // transaction rolls back, its claim comes back and a later flush inserts the row
+            if (!settled.contains(token.getJti())) continue;
+            // Flushed and no longer cached: the table's bulk updates cover it from now on
+            if (pending.remove(token.getJti(), token) && tokens.getIfPresent(token.getJti()) == null) unindex(token);
+        }
+        flushed.increment(settled.size());
+        return settled.size();
+    }
+
+    private RefreshToken load(String jti) {
+        RefreshToken waiting = pending.get(jti);
+        if (waiting != null) return waiting;
+        RefreshToken loaded = refreshTokenRepository.findByJti(jti).map(InMemoryRefreshTokenStore::copyOf).orElse(null);
+        if (loaded != null) index(loaded);
+        return loaded;
+    }
+
+    // Only claimed rows are inserted; any other row is being (or was) inserted by a rotation.
+    // Returns the jtis whose row is now written.
+    private Set<String> write(List<RefreshToken> batch, Set<String> claimed) {
+        Map<String, RefreshToken> rows = refreshTokenRepository
+                .findAllByJtiIn(batch.stream().map(RefreshToken::getJti).toList())
+                .stream()
+                .collect(Collectors.toMap(RefreshToken::getJti, Function.identity()));
+
+        List<RefreshToken> inserts = new ArrayList<>();
+        Set<String> written = new HashSet<>(rows.keySet());
+        for (RefreshToken token : batch) {
+            RefreshToken row = rows.get(token.getJti());
+            if (row == null) {
+                if (claimed.contains(token.getJti())) {
+                    inserts.add(copyOf(token));
+                    written.add(token.getJti());
+                }
+            } else {
+                // A bulk revoke may have reached the row first; a flush never clears a revocation
+                if (!row.isRevoked()) row.setRevokedAt(token.getRevokedAt());
+                if (row.getReplacedByJti() == null) row.setReplacedByJti(token.getReplacedByJti());
+            }
+        }
+        if (!inserts.isEmpty()) refreshTokenRepository.saveAll(inserts);
+        return written;
+    }
+
+    // Cached tokens are never attached to a persistence context and never changed in place
+    private static RefreshToken copyOf(RefreshToken token) {
+        RefreshToken copy = new RefreshToken();
+        copy.setUserId(token.getUserId());
+        copy.setJti(token.getJti());
+        copy.setTokenHash(token.getTokenHash());
+        copy.setFamilyId(token.getFamilyId());
+        copy.setExpiresAt(token.getExpiresAt());
+        copy.setRevokedAt(token.getRevokedAt());
+        copy.setReplacedByJti(token.getReplacedByJti());
+        return copy;
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, RefreshToken> {
+
+        @Override
+        public long expireAfterCreate(String jti, RefreshToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String jti, RefreshToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(jti, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String jti, RefreshToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
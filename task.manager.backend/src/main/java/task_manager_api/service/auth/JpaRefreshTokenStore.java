@@ -0,0 +1,50 @@
+package task_manager_api.service.auth;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Reads and writes straight through to refresh_tokens; use it when several instances share the database
+@Component
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByJti(String jti) {
+        return refreshTokenRepository.findByJti(jti);
+    }
+
+    // The conditional update is the compare-and-set: only one concurrent caller sees a row updated
+    @Override
+    public boolean rotate(String jti, RefreshToken replacement) {
+        if (refreshTokenRepository.revokeIfActive(jti, Instant.now(), replacement.getJti()) == 0) return false;
+
+        refreshTokenRepository.save(replacement);
+        return true;
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, Instant.now());
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+    }
+}
@@ -0,0 +1,117 @@
+package task_manager_api.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import task_manager_api.exceptions.TooManyRequestsException;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs login password checks on a small bounded pool instead of on the request thread.
+ * Hash verification is deliberately CPU-heavy, so the pool is sized to the cores and only a
+ * short queue may wait behind it; once that queue is full, further logins are turned away with
+ * 429 straight away. A login storm then ties up at most threads + queue-capacity request
+ * threads, and the rest of the API keeps its Tomcat workers. Callers must not hold a
+ * transaction while waiting here.
+ * A check that outlives timeout-ms fails the login with 429 too, but that is not shedding: a
+ * queued check is dropped, while one already hashing cannot be interrupted and keeps its pool
+ * thread until bcrypt finishes. Timeouts are therefore counted apart from rejections.
+ * Rehashing a password after a cost change is just as heavy, so it runs on the same pool.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor pool;
+    private final long timeoutMs;
+    private final Timer waited;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PasswordVerifier(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.password-verification.threads:0}") int threads,
+            @Value("${app.auth.password-verification.queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.password-verification.timeout-ms:5000}") long timeoutMs
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolTaskExecutor();
+        this.pool.setCorePoolSize(size);
+        this.pool.setMaxPoolSize(size);
+        this.pool.setQueueCapacity(queueCapacity);
+        this.pool.setThreadNamePrefix("password-verify-");
+        this.pool.initialize();
+
+        // executor.queued, executor.active, executor.completed, ... tagged name=password.verification
+        ExecutorServiceMetrics.monitor(meterRegistry, pool.getThreadPoolExecutor(), "password.verification", List.of());
+        this.waited = Timer.builder("app.password_verification.queue.wait")
+                .description("Time a password check waited for a free verification thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("app.password_verification.rejected")
+                .description("Logins turned away because the password verification queue was full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("app.password_verification.timeouts")
+                .description("Password checks that did not finish within the timeout; running ones still complete")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return onPool(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return onPool(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Helpers
+    private <T> T onPool(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = pool.submit(() -> {
+                waited.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return work.call();
+            });
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login attempts in progress, please retry shortly");
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Only stops a check that has not started; bcrypt does not respond to interrupts
+            result.cancel(false);
+            timedOut.increment();
+            throw new TooManyRequestsException("Login is taking too long, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,29 @@
+package task_manager_api.service.auth;
+
+import task_manager_api.model.RefreshToken;
+
+import java.util.Optional;
+
+/**
+ * Where AuthService keeps issued refresh tokens. Selected with app.auth.refresh-tokens.store:
+ * "memory" (default, {@link InMemoryRefreshTokenStore}) or "jpa" ({@link JpaRefreshTokenStore}).
+ */
+public interface RefreshTokenStore {
+
+    void save(RefreshToken token);
+
+    Optional<RefreshToken> findByJti(String jti);
+
+    /**
+     * Revokes the token with this jti, records the replacement's jti on it and stores the replacement.
+     * Returns false, storing nothing, if the token is unknown or already revoked, so when the same
+     * token is presented twice (replay or a concurrent retry) exactly one rotation succeeds.
+     */
+    boolean rotate(String jti, RefreshToken replacement);
+
+    // Revokes every still-active token rotated from the same login
+    void revokeFamily(String familyId);
+
+    // Revokes every still-active token of the user, e.g. after a password change
+    void revokeAllForUser(Long userId);
+}
@@ -1,17 +1,74 @@
 package task_manager_api.service.auth;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.repository.RefreshTokenRepository;
 import task_manager_api.repository.VerificationTokenRepository;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Purges expired verification tokens and spent refresh tokens. Refresh tokens are deleted in
+ * batches of batch-size, each in its own short transaction, so the job never holds many row
+ * locks or a long-running transaction against the login path. Revoked tokens are kept for
+ * revoked-retention first, so a replayed rotated token is still recognised as one. Expired
+ * rows are deleted first, then old revoked ones, with max-batches-per-run shared by both. When the
+ * table has been partitioned (see db/optional/refresh_tokens_partitioning.sql), expired months
+ * are dropped as whole partitions before the batched delete runs.
+ */
 @Service
 public class TokenCleanupService {
 
     private final VerificationTokenRepository verificationTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMs;
+    private final Duration revokedRetention;
+    private final boolean partitioned;
+    private final Counter purged;
+    private final Counter partitionsDropped;
+    private final Timer purgeRuns;
 
-    public TokenCleanupService(VerificationTokenRepository verificationTokenRepository) {
+    public TokenCleanupService(
+            VerificationTokenRepository verificationTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.refresh-tokens.purge.batch-size:5000}") int batchSize,
+            @Value("${app.auth.refresh-tokens.purge.max-batches-per-run:200}") int maxBatchesPerRun,
+            @Value("${app.auth.refresh-tokens.purge.pause-ms:50}") long pauseMs,
+            @Value("${app.auth.refresh-tokens.revoked-retention-hours:24}") long revokedRetentionHours,
+            @Value("${app.auth.refresh-tokens.partitioned:false}") boolean partitioned
+    ) {
         this.verificationTokenRepository = verificationTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMs = pauseMs;
+        this.revokedRetention = Duration.ofHours(revokedRetentionHours);
+        this.partitioned = partitioned;
+        this.purged = Counter.builder("app.refresh_tokens.purged")
+                .description("Refresh token rows deleted by the cleanup job")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder("app.refresh_tokens.partitions_dropped")
+                .description("Expired refresh_tokens partitions dropped by the cleanup job")
+                .register(meterRegistry);
+        this.purgeRuns = Timer.builder("app.refresh_tokens.purge")
+                .description("Duration of a refresh token cleanup run")
+                .register(meterRegistry);
     }
 
     @Scheduled(fixedRate = 3600000)
@@ -19,4 +76,54 @@ public class TokenCleanupService {
     public void deleteExpiredTokens() {
         verificationTokenRepository.deleteExpiredTokens();
     }
+
+    // Returns the number of rows deleted; a run stops early at max-batches-per-run and continues next time
+    @Scheduled(
+            fixedDelayString = "${app.auth.refresh-tokens.purge.interval-ms:3600000}",
+            initialDelayString = "${app.auth.refresh-tokens.purge.interval-ms:3600000}"
+    )
+    public long purgeRefreshTokens() {
+        Timer.Sample run = Timer.start();
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(revokedRetention);
+
+        if (partitioned) {
+            Integer dropped = transaction.execute(status -> refreshTokenRepository.maintainPartitions(revokedBefore, 2));
+            if (dropped != null) partitionsDropped.increment(dropped);
+        }
+
+        List<IntUnaryOperator> deletes = List.of(
+                limit -> refreshTokenRepository.deleteExpiredBatch(now, limit),
+                limit -> refreshTokenRepository.deleteRevokedBatch(revokedBefore, limit));
+
+        long total = 0;
+        int batches = 0;
+        purge:
+        for (IntUnaryOperator delete : deletes) {
+            while (batches < maxBatchesPerRun) {
+                Integer deleted = transaction.execute(status -> delete.applyAsInt(batchSize));
+                int count = deleted == null ? 0 : deleted;
+                batches++;
+                total += count;
+                purged.increment(count);
+
+                if (count < batchSize) break;
+                if (!pause()) break purge;
+            }
+        }
+        run.stop(purgeRuns);
+        return total;
+    }
+
+    // Gives concurrent logins room between batches; false if the job is being shut down
+    private boolean pause() {
+        if (pauseMs <= 0) return true;
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 }
@@ -0,0 +1,230 @@
+package task_manager_api.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.model.EmailOutbox;
+import task_manager_api.model.EmailOutboxStatus;
+import task_manager_api.repository.EmailOutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Drains the email outbox with a small fixed pool of workers. Each worker claims a batch of due
+ * rows (SKIP LOCKED, so workers and instances never share a row) and leases them by pushing
+ * next_attempt_at forward, then sends the whole batch over one SMTP connection outside any
+ * transaction. Failed emails are retried with exponential backoff up to max-attempts and then
+ * marked FAILED. A worker that dies mid-batch leaves its rows to be retried once the lease ends,
+ * so delivery is at least once.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mail.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolTaskExecutor workers;
+    private final String from;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${spring.mail.username:}") String from,
+            @Value("${app.mail.outbox.workers:2}") int workerCount,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+            @Value("${app.mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${app.mail.outbox.lease-ms:300000}") long leaseMs,
+            @Value("${app.mail.outbox.retention-days:7}") int retentionDays
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retention = Duration.ofDays(retentionDays);
+
+        // No queue: a poll only starts workers that are idle, the rest are already draining
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(workerCount);
+        this.workers.setMaxPoolSize(workerCount);
+        this.workers.setQueueCapacity(0);
+        this.workers.setThreadNamePrefix("email-outbox-");
+        this.workers.initialize();
+
+        this.sent = delivery(meterRegistry, "sent");
+        this.retried = delivery(meterRegistry, "retried");
+        this.failed = delivery(meterRegistry, "failed");
+        this.lag = Timer.builder("app.email_outbox.lag")
+                .description("Time from queueing an email to handing it to the SMTP server")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("app.email_outbox.batch.size")
+                .description("Emails sent per SMTP connection; the count is the number of connections opened")
+                .register(meterRegistry);
+        Gauge.builder("app.email_outbox.pending", outboxRepository, r -> r.countByStatus(EmailOutboxStatus.PENDING))
+                .description("Emails waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        for (int i = 0; i < workerCount; i++) {
+            try {
+                workers.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                return;
+            }
+        }
+    }
+
+    // Keeps sending while batches come back full, so a backlog drains without waiting for the next poll
+    private void drain() {
+        while (sendBatch() == batchSize) {
+            // next batch
+        }
+    }
+
+    public int sendBatch() {
+        Instant now = Instant.now();
+        List<EmailOutbox> batch = transaction.execute(status -> claim(now));
+        if (batch == null || batch.isEmpty()) return 0;
+
+        Map<Long, String> errors = send(batch);
+        batchSizes.record(batch.size());
+        transaction.executeWithoutResult(status -> record(batch, errors, Instant.now()));
+        return batch.size();
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        transaction.executeWithoutResult(status ->
+                outboxRepository.deleteSentBefore(Instant.now().minus(retention)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    // Helpers
+    private List<EmailOutbox> claim(Instant now) {
+        List<EmailOutbox> batch = outboxRepository.lockDue(now, batchSize);
+        for (EmailOutbox email : batch) {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(lease));
+        }
+        return batch;
+    }
+
+    // One send call for the whole batch, which JavaMailSender delivers over a single connection
+    private Map<Long, String> send(List<EmailOutbox> batch) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+            ids.put(messages[i], batch.get(i).getId());
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(email -> errors.put(email.getId(), e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> errors.put(ids.get(message), cause.getMessage()));
+            }
+        } catch (MailException e) {
+            batch.forEach(email -> errors.put(email.getId(), e.getMessage()));
+        }
+        return errors;
+    }
+
+    private void record(List<EmailOutbox> batch, Map<Long, String> errors, Instant now) {
+        for (EmailOutbox email : outboxRepository.findAllById(batch.stream().map(EmailOutbox::getId).toList())) {
+            if (!errors.containsKey(email.getId())) {
+                email.setStatus(EmailOutboxStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent.increment();
+                lag.record(Duration.between(email.getCreatedAt(), now));
+                continue;
+            }
+
+            email.setLastError(truncate(errors.get(email.getId())));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                failed.increment();
+            } else {
+                email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                retried.increment();
+            }
+        }
+    }
+
+    // initial, 2x, 4x, ... capped at max-backoff
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(factor);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    private static Counter delivery(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.email_outbox.deliveries")
+                .description("Outbox email delivery attempts")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,39 +1,30 @@
 package task_manager_api.service.notification;
 
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import task_manager_api.model.EmailOutbox;
+import task_manager_api.repository.EmailOutboxRepository;
+
+/**
+ * Queues outgoing email in the outbox table, inside the caller's transaction: the email is
+ * only sent if the change that triggered it commits, and the caller never waits on SMTP.
+ * Delivery and retries are handled by {@link EmailOutboxDispatcher}.
+ */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String mailSenderUsername;
+    private final EmailOutboxRepository outboxRepository;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
+    @Transactional
     public void sendVerificationEmail(String email, String link) {
-        try {
-            String subject = "Task Handler - Email Verification";
-            String body = "Click the following link to verify your account:\n" + link;
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(mailSenderUsername);
-            message.setTo(email);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
-            System.out.println("Email Sent to: " + email);
+        String subject = "Task Handler - Email Verification";
+        String body = "Click the following link to verify your account:\n" + link;
 
-        } catch (Exception e) {
-            System.err.println("Failed to send verification email: " + e.getMessage());
-        }
+        outboxRepository.save(new EmailOutbox(email, subject, body));
     }
 }
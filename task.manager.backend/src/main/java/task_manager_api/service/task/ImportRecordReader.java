@@ -0,0 +1,91 @@
+package task_manager_api.service.task;
+
+import task_manager_api.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an upload one record at a time: NDJSON lines, or RFC 4180 CSV records whose quoted
+ * fields may span lines. Only the current record is held in memory, and records longer than
+ * the limit are rejected so a malformed upload cannot grow it without bound.
+ */
+class ImportRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordChars;
+
+    ImportRecordReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // Next line without its line break, or null at the end of the input
+    String nextLine() throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (c != '\r') append(line, c);
+            c = reader.read();
+        }
+        return line.toString();
+    }
+
+    // Next record split into fields, or null at the end of the input
+    List<String> nextCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+
+        while (true) {
+            if (c == -1) {
+                if (quoted) throw new BadRequestException("Unterminated quoted field at end of input");
+                fields.add(field.toString());
+                return fields;
+            }
+            if (++recordChars > maxRecordChars) {
+                throw new BadRequestException("Record is longer than " + maxRecordChars + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"');
+                        c = reader.read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(StringBuilder line, int c) {
+        if (line.length() >= maxRecordChars) {
+            throw new BadRequestException("Record is longer than " + maxRecordChars + " characters");
+        }
+        line.append((char) c);
+    }
+}
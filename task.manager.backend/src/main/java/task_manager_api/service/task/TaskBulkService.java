@@ -0,0 +1,228 @@
+package task_manager_api.service.task;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_manager_api.DTO.task.*;
+import task_manager_api.exceptions.BadRequestException;
+import task_manager_api.mapper.TaskMapper;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.team.TeamAccessAuthService;
+import task_manager_api.service.user.UserService;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create, update and delete of the caller's tasks in one transaction.
+ * Items that fail validation or access checks are reported and skipped; the rest are written.
+ * Team access is checked once per distinct team, tasks are loaded in chunks, and the
+ * persistence context is flushed and cleared after each chunk so Hibernate sends the
+ * writes as JDBC batches and memory stays flat for large imports.
+ */
+@Service
+public class TaskBulkService {
+
+    private final TasksRepository tasksRepository;
+    private final UserService userService;
+    private final TeamAccessAuthService teamAccessAuthService;
+    private final TaskStatusCounterService taskStatusCounterService;
+    private final TaskTitleIndex taskTitleIndex;
+    private final EntityManager entityManager;
+    private final TaskItemValidator itemValidator;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public TaskBulkService(
+            TasksRepository tasksRepository,
+            UserService userService,
+            TeamAccessAuthService teamAccessAuthService,
+            TaskStatusCounterService taskStatusCounterService,
+            TaskTitleIndex taskTitleIndex,
+            EntityManager entityManager,
+            TaskItemValidator itemValidator,
+            @Value("${app.tasks.bulk.max-items:50000}") int maxItems,
+            @Value("${app.tasks.bulk.chunk-size:500}") int chunkSize
+    ) {
+        this.tasksRepository = tasksRepository;
+        this.userService = userService;
+        this.teamAccessAuthService = teamAccessAuthService;
+        this.taskStatusCounterService = taskStatusCounterService;
+        this.taskTitleIndex = taskTitleIndex;
+        this.entityManager = entityManager;
+        this.itemValidator = itemValidator;
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public BulkTaskResultDTO createTasks(List<TaskCreateDTO> items) {
+        requireBatchSize(items);
+
+        User user = userService.getLoggedUserReference();
+        Long userId = user.getId();
+        Map<Long, Optional<String>> teamErrors = new HashMap<>();
+        TaskStatusCounterService.Batch counters = taskStatusCounterService.batch();
+        List<TaskSummaryDTO> created = new ArrayList<>();
+        List<BulkTaskItemResultDTO> results = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            TaskCreateDTO item = items.get(i);
+
+            String error = itemValidator.validate(item);
+            if (error == null && item.getTeamId() != null) {
+                error = teamErrors.computeIfAbsent(item.getTeamId(), teamId -> itemValidator.teamAccessError(teamId, user)).orElse(null);
+            }
+            if (error != null) {
+                results.add(failure(i, null, error));
+                continue;
+            }
+
+            // References only carry the ids, so clearing the context between chunks does not detach them mid-use
+            Team team = item.getTeamId() != null ? entityManager.getReference(Team.class, item.getTeamId()) : null;
+            Task task = TaskMapper.toEntity(item, entityManager.getReference(User.class, userId), team);
+            entityManager.persist(task);
+
+            counters.taskAdded(task);
+            created.add(TaskMapper.toSummaryDTO(task));
+            results.add(success(i, task.getId()));
+
+            if (created.size() % chunkSize == 0) flushAndClear();
+        }
+
+        taskStatusCounterService.apply(counters);
+        taskTitleIndex.tasksSaved(userId, created);
+        return toResult(results);
+    }
+
+    @Transactional
+    public BulkTaskResultDTO updateTasks(List<TaskBulkUpdateDTO> items) {
+        requireBatchSize(items);
+
+        User user = userService.getLoggedUserReference();
+        Map<Long, Boolean> membershipByTeam = new HashMap<>();
+        TaskStatusCounterService.Batch counters = taskStatusCounterService.batch();
+        List<TaskSummaryDTO> updated = new ArrayList<>();
+        List<BulkTaskItemResultDTO> results = new ArrayList<>(items.size());
+
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<TaskBulkUpdateDTO> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            Map<Integer, Task> tasks = loadTasks(chunk.stream().map(TaskBulkUpdateDTO::getId).filter(Objects::nonNull).toList());
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = from + offset;
+                TaskBulkUpdateDTO item = chunk.get(offset);
+
+                String error = itemValidator.validate(item);
+                Task task = error == null ? tasks.get(item.getId()) : null;
+                if (error == null) error = accessError(task, user, membershipByTeam);
+                if (error != null) {
+                    results.add(failure(index, item.getId(), error));
+                    continue;
+                }
+
+                Status previousStatus = task.getStatus();
+                TaskMapper.updateEntity(task, item.getChanges());
+                counters.statusChanged(task, previousStatus);
+                updated.add(TaskMapper.toSummaryDTO(task));
+                results.add(success(index, task.getId()));
+            }
+            flushAndClear();
+        }
+
+        taskStatusCounterService.apply(counters);
+        taskTitleIndex.tasksSaved(user.getId(), updated);
+        return toResult(results);
+    }
+
+    @Transactional
+    public BulkTaskResultDTO deleteTasks(List<Integer> ids) {
+        requireBatchSize(ids);
+
+        User user = userService.getLoggedUserReference();
+        Map<Long, Boolean> membershipByTeam = new HashMap<>();
+        TaskStatusCounterService.Batch counters = taskStatusCounterService.batch();
+        Set<Integer> deleted = new LinkedHashSet<>();
+        List<BulkTaskItemResultDTO> results = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Integer, Task> tasks = loadTasks(chunk.stream().filter(Objects::nonNull).toList());
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = from + offset;
+                Integer id = chunk.get(offset);
+
+                // A repeated id was already removed by an earlier item
+                Task task = id != null && !deleted.contains(id) ? tasks.get(id) : null;
+                String error = id == null ? "Task id is required" : accessError(task, user, membershipByTeam);
+                if (error != null) {
+                    results.add(failure(index, id, error));
+                    continue;
+                }
+
+                entityManager.remove(task);
+                counters.taskRemoved(task);
+                deleted.add(id);
+                results.add(success(index, id));
+            }
+            flushAndClear();
+        }
+
+        taskStatusCounterService.apply(counters);
+        taskTitleIndex.tasksDeleted(user.getId(), List.copyOf(deleted));
+        return toResult(results);
+    }
+
+    // Helpers
+    private void requireBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) throw new BadRequestException("At least one item is required");
+        if (items.size() > maxItems) throw new BadRequestException("At most " + maxItems + " items per request");
+    }
+
+    // Same rule as TaskService: the caller owns the task and, for team tasks, is still a member
+    private String accessError(Task task, User user, Map<Long, Boolean> membershipByTeam) {
+        if (task == null) return "Task not found";
+        if (!task.getUser().getId().equals(user.getId())) return "You are not allowed to perform this action";
+
+        Team team = task.getTeam();
+        if (team != null && !membershipByTeam.computeIfAbsent(team.getId(), id -> teamAccessAuthService.isMember(team, user))) {
+            return "You are not a member of this team";
+        }
+        return null;
+    }
+
+    private Map<Integer, Task> loadTasks(List<Integer> ids) {
+        return tasksRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private BulkTaskItemResultDTO success(int index, Integer taskId) {
+        return BulkTaskItemResultDTO.builder().index(index).taskId(taskId).success(true).build();
+    }
+
+    private BulkTaskItemResultDTO failure(int index, Integer taskId, String error) {
+        return BulkTaskItemResultDTO.builder().index(index).taskId(taskId).success(false).error(error).build();
+    }
+
+    private BulkTaskResultDTO toResult(List<BulkTaskItemResultDTO> results) {
+        int succeeded = (int) results.stream().filter(BulkTaskItemResultDTO::isSuccess).count();
+        return BulkTaskResultDTO.builder()
+                .items(results)
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .build();
+    }
+}
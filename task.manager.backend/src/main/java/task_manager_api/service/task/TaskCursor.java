@@ -0,0 +1,41 @@
+package task_manager_api.service.task;
+
+import task_manager_api.DTO.task.TaskPageRowDTO;
+import task_manager_api.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (dateCreated, id) order of a user's task listing, handed to clients as an
+ * opaque string. The cursor carries the values themselves rather than a task id to look up,
+ * so paging carries on when the task at the page boundary has since been deleted.
+ */
+public record TaskCursor(LocalDateTime createdAt, Integer id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor after(TaskPageRowDTO row) {
+        return new TaskCursor(row.getDateCreated(), row.getId());
+    }
+
+    public String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) throw new BadRequestException("Invalid cursor");
+            return new TaskCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Integer.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package task_manager_api.service.task;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import task_manager_api.exceptions.BadRequestException;
+
+// File formats for task export, also accepted by the task import
+public enum TaskExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TaskExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TaskExportFormat from(String value) {
+        for (TaskExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) return format;
+        }
+        throw new BadRequestException("Export format must be ndjson or csv");
+    }
+
+    public static TaskExportFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (TaskExportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(type)) return format;
+        }
+        throw new BadRequestException("Content type must be application/x-ndjson or text/csv");
+    }
+
+    // Content type plus an attachment file name such as tasks.csv
+    public HttpHeaders headers(String fileName) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(mediaType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName + "." + extension).build());
+        return headers;
+    }
+}
@@ -0,0 +1,114 @@
+package task_manager_api.service.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import task_manager_api.DTO.task.TaskExportRowDTO;
+import task_manager_api.mapper.TaskMapper;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.team.TeamAccessAuthService;
+import task_manager_api.service.user.UserService;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams every task of the caller or of a team as NDJSON or CSV. Access is checked on the
+ * request thread, before the response starts, so failures still map to the usual error
+ * responses. The body then reads tasks through a database cursor in a read-only transaction
+ * and detaches each one once written, so memory does not grow with the number of tasks.
+ */
+@Service
+public class TaskExportService {
+
+    static final String CSV_HEADER = "id,title,description,status,createdAt,deadline,userId,teamId\n";
+
+    private final TasksRepository tasksRepository;
+    private final UserService userService;
+    private final TeamAccessAuthService teamAccessAuthService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskExportService(
+            TasksRepository tasksRepository,
+            UserService userService,
+            TeamAccessAuthService teamAccessAuthService,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.tasksRepository = tasksRepository;
+        this.userService = userService;
+        this.teamAccessAuthService = teamAccessAuthService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportUserTasks(TaskExportFormat format) {
+        User user = userService.getLoggedUserReference();
+        return out -> write(format, out, () -> tasksRepository.streamByUser(user));
+    }
+
+    public StreamingResponseBody exportTeamTasks(Long teamId, TaskExportFormat format) {
+        User user = userService.getLoggedUserReference();
+        Team team = teamAccessAuthService.requireTeam(teamId);
+
+        teamAccessAuthService.requireMembership(team, user);
+        return out -> write(format, out, () -> tasksRepository.streamByTeam(team));
+    }
+
+    private void write(TaskExportFormat format, OutputStream out, Supplier<Stream<Task>> query) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        // The stream holds an open cursor, so it must be consumed and closed inside the transaction
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = query.get()) {
+                if (format == TaskExportFormat.CSV) writer.write(CSV_HEADER);
+
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+                    writeRow(format, writer, TaskMapper.toExportRow(task));
+                    entityManager.detach(task);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeRow(TaskExportFormat format, Writer writer, TaskExportRowDTO row) throws IOException {
+        if (format == TaskExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+
+        writer.write(String.join(",",
+                csv(row.getId()), csv(row.getTitle()), csv(row.getDescription()), csv(row.getStatus()),
+                csv(row.getCreatedAt()), csv(row.getDeadline()), csv(row.getUserId()), csv(row.getTeamId())));
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting: fields with a separator, quote or line break are quoted and quotes doubled
+    static String csv(Object value) {
+        if (value == null) return "";
+
+        String text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,234 @@
+package task_manager_api.service.task;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.DTO.task.TaskCreateDTO;
+import task_manager_api.DTO.task.TaskImportErrorDTO;
+import task_manager_api.DTO.task.TaskImportResultDTO;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.exceptions.BadRequestException;
+import task_manager_api.mapper.TaskMapper;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.service.user.UserService;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Imports tasks for the caller from an NDJSON or CSV upload. The body is read one record at a
+ * time and valid rows are committed every chunk-size rows in their own transaction, so memory
+ * is bounded by one chunk and the next rows are only read once the previous chunk is written.
+ * If the import stops part-way (broken upload, malformed record, database error) the chunks
+ * already committed stay, and the result says where a retry can resume. Team access is checked
+ * once per team; an upload naming more than max-distinct-teams teams is stopped there.
+ * A record carries the same fields as a single create (title, description, deadline, teamId).
+ * Other fields of an export, such as id and status, are ignored: imported tasks start without
+ * a status, like created ones.
+ */
+@Service
+public class TaskImportService {
+
+    // Everything else in the header, including an export's status column, is ignored
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "deadline", "teamid");
+
+    private final UserService userService;
+    private final TaskStatusCounterService taskStatusCounterService;
+    private final TaskTitleIndex taskTitleIndex;
+    private final EntityManager entityManager;
+    private final TaskItemValidator itemValidator;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxRecordChars;
+    private final int maxReportedErrors;
+    private final int maxDistinctTeams;
+
+    public TaskImportService(
+            UserService userService,
+            TaskStatusCounterService taskStatusCounterService,
+            TaskTitleIndex taskTitleIndex,
+            EntityManager entityManager,
+            TaskItemValidator itemValidator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.tasks.import.chunk-size:500}") int chunkSize,
+            @Value("${app.tasks.import.max-record-chars:65536}") int maxRecordChars,
+            @Value("${app.tasks.import.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${app.tasks.import.max-distinct-teams:100}") int maxDistinctTeams
+    ) {
+        this.userService = userService;
+        this.taskStatusCounterService = taskStatusCounterService;
+        this.taskTitleIndex = taskTitleIndex;
+        this.entityManager = entityManager;
+        this.itemValidator = itemValidator;
+        // Export lines carry id, status and other fields an import does not take
+        this.taskReader = objectMapper.readerFor(TaskCreateDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRecordChars = maxRecordChars;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxDistinctTeams = maxDistinctTeams;
+    }
+
+    public TaskImportResultDTO importTasks(TaskExportFormat format, InputStream body) throws IOException {
+        User user = userService.getLoggedUserReference();
+        ImportRecordReader reader = new ImportRecordReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), maxRecordChars);
+        Map<String, Integer> columns = format == TaskExportFormat.CSV ? readCsvHeader(reader) : null;
+
+        Map<Long, Optional<String>> teamErrors = new HashMap<>();
+        TaskImportResultDTO result = new TaskImportResultDTO();
+        List<TaskCreateDTO> chunk = new ArrayList<>(chunkSize);
+        long record = 0;
+
+        try {
+            while (true) {
+                TaskCreateDTO item;
+                String error;
+                if (format == TaskExportFormat.CSV) {
+                    List<String> fields = reader.nextCsvRecord();
+                    if (fields == null) break;
+                    if (isBlank(fields)) continue;
+                    record++;
+                    item = new TaskCreateDTO();
+                    error = fromCsv(fields, columns, item);
+                } else {
+                    String line = reader.nextLine();
+                    if (line == null) break;
+                    if (line.isBlank()) continue;
+                    record++;
+                    item = null;
+                    try {
+                        item = taskReader.readValue(line);
+                        error = null;
+                    } catch (JsonProcessingException e) {
+                        error = "Malformed JSON: " + e.getOriginalMessage();
+                    }
+                }
+
+                if (error == null) error = itemValidator.validate(item);
+                if (error == null && item.getTeamId() != null) {
+                    error = teamError(teamErrors, item.getTeamId(), user);
+                }
+                if (error != null) {
+                    reject(result, record, error);
+                } else {
+                    chunk.add(item);
+                }
+
+                if (chunk.size() == chunkSize) {
+                    commit(user.getId(), chunk, result, record);
+                }
+            }
+            commit(user.getId(), chunk, result, record);
+            result.setCompleted(true);
+        } catch (IOException | RuntimeException e) {
+            // Rows read since the last commit are dropped with the failed chunk
+            result.setAbortReason(e.getMessage());
+        }
+        return result;
+    }
+
+    // Helpers
+    private void commit(Long userId, List<TaskCreateDTO> chunk, TaskImportResultDTO result, long record) {
+        if (!chunk.isEmpty()) {
+            chunkTransaction.executeWithoutResult(status -> persist(userId, chunk));
+            result.setImported(result.getImported() + chunk.size());
+            result.setChunksCommitted(result.getChunksCommitted() + 1);
+            chunk.clear();
+        }
+        result.setLastCommittedRecord(record);
+    }
+
+    private void persist(Long userId, List<TaskCreateDTO> chunk) {
+        TaskStatusCounterService.Batch counters = taskStatusCounterService.batch();
+        List<TaskSummaryDTO> created = new ArrayList<>(chunk.size());
+        User user = entityManager.getReference(User.class, userId);
+
+        for (TaskCreateDTO item : chunk) {
+            Team team = item.getTeamId() != null ? entityManager.getReference(Team.class, item.getTeamId()) : null;
+            Task task = TaskMapper.toEntity(item, user, team);
+            entityManager.persist(task);
+            counters.taskAdded(task);
+            created.add(TaskMapper.toSummaryDTO(task));
+        }
+
+        taskStatusCounterService.apply(counters);
+        taskTitleIndex.tasksSaved(userId, created);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void reject(TaskImportResultDTO result, long record, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(TaskImportErrorDTO.builder().record(record).error(error).build());
+        }
+    }
+
+    // Maps header names to positions; columns other than the importable ones (e.g. from an export) are ignored
+    private Map<String, Integer> readCsvHeader(ImportRecordReader reader) throws IOException {
+        List<String> header = reader.nextCsvRecord();
+        if (header == null) throw new BadRequestException("CSV upload is empty");
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (CSV_COLUMNS.contains(name)) columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("title")) throw new BadRequestException("CSV header must contain a title column");
+        return columns;
+    }
+
+    private String fromCsv(List<String> fields, Map<String, Integer> columns, TaskCreateDTO item) {
+        item.setTitle(column(fields, columns, "title"));
+        item.setDescription(column(fields, columns, "description"));
+        try {
+            String deadline = column(fields, columns, "deadline");
+            if (deadline != null) item.setDeadline(LocalDateTime.parse(deadline));
+        } catch (DateTimeParseException e) {
+            return "deadline must be an ISO date-time";
+        }
+        try {
+            String teamId = column(fields, columns, "teamid");
+            if (teamId != null) item.setTeamId(Long.parseLong(teamId));
+        } catch (NumberFormatException e) {
+            return "teamId must be a number";
+        }
+        return null;
+    }
+
+    private String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) return null;
+
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private boolean isBlank(List<String> fields) {
+        return fields.stream().allMatch(String::isBlank);
+    }
+
+    // Checked once per team for the whole upload; the cap keeps an upload of made-up team ids
+    // from growing the map and issuing a lookup per id
+    private String teamError(Map<Long, Optional<String>> teamErrors, Long teamId, User user) {
+        if (!teamErrors.containsKey(teamId) && teamErrors.size() >= maxDistinctTeams) {
+            throw new BadRequestException("An import may reference at most " + maxDistinctTeams + " teams");
+        }
+        return teamErrors.computeIfAbsent(teamId, id -> itemValidator.teamAccessError(id, user)).orElse(null);
+    }
+}
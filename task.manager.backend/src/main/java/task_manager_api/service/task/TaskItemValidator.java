@@ -0,0 +1,49 @@
+package task_manager_api.service.task;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import task_manager_api.exceptions.ResourceNotFoundException;
+import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.service.team.TeamAccessAuthService;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item checks shared by bulk create and import. Both report a failing item as a message
+ * instead of failing the whole request.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskItemValidator {
+
+    private final Validator validator;
+    private final TeamAccessAuthService teamAccessAuthService;
+
+    public String validate(Object item) {
+        if (item == null) return "Item is required";
+
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Same checks and messages as a single create; any other failure propagates to the caller
+    public Optional<String> teamAccessError(Long teamId, User user) {
+        try {
+            Team team = teamAccessAuthService.requireTeam(teamId);
+            teamAccessAuthService.requireMembership(team, user);
+            return Optional.empty();
+        } catch (ResourceNotFoundException | UnauthorizedActionException e) {
+            return Optional.of(e.getMessage());
+        }
+    }
+}
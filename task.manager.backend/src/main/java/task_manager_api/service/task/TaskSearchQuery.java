@@ -0,0 +1,44 @@
+package task_manager_api.service.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into a PostgreSQL tsquery where every word must match as a prefix,
+ * e.g. "fix log" becomes "fix:* & log:*". Only letters and digits are kept, so user
+ * input can never inject tsquery operators.
+ */
+public final class TaskSearchQuery {
+
+    static final int MAX_TERMS = 8;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private TaskSearchQuery() {}
+
+    public static String toPrefixTsQuery(String text) {
+        List<String> words = words(text);
+        if (words.isEmpty()) return null;
+
+        List<String> terms = new ArrayList<>();
+        for (String word : words.subList(0, Math.min(words.size(), MAX_TERMS))) {
+            terms.add(word + ":*");
+        }
+        return String.join(" & ", terms);
+    }
+
+    // Lowercase letter/digit runs of the text, in order; also the tokens of the in-memory title index
+    public static List<String> words(String text) {
+        if (text == null) return List.of();
+
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+}
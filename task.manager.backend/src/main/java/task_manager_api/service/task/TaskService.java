@@ -1,30 +1,54 @@
 package task_manager_api.service.task;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import task_manager_api.DTO.task.TaskCreateDTO;
+import task_manager_api.DTO.task.TaskPageDTO;
+import task_manager_api.DTO.task.TaskPageRowDTO;
+import task_manager_api.DTO.task.TaskQueryDTO;
 import task_manager_api.DTO.task.TaskResponseDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.task.TaskUpdateDTO;
+import task_manager_api.exceptions.BadRequestException;
 import task_manager_api.exceptions.ResourceNotFoundException;
 import task_manager_api.exceptions.UnauthorizedActionException;
 import task_manager_api.mapper.TaskMapper;
 import task_manager_api.model.*;
+import task_manager_api.repository.TaskSpecifications;
 import task_manager_api.repository.TasksRepository;
 import org.springframework.stereotype.Service;
 import task_manager_api.service.team.TeamAccessAuthService;
 import task_manager_api.service.user.UserService;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // Stable order shared by offset and keyset paging; id breaks ties between equal timestamps
+    private static final Sort TASK_PAGE_ORDER = Sort.by("dateCreated").ascending().and(Sort.by("id").ascending());
+
+    private static final Set<String> QUERY_SORT_FIELDS = Set.of("dateCreated", "deadline", "title", "status");
+
     private final TasksRepository tasksRepository;
     private final UserService userService;
     private final TeamAccessAuthService teamAccessAuthService;
+    private final TaskTitleIndex taskTitleIndex;
+    private final TaskStatusCounterService taskStatusCounterService;
 
     @Transactional
     public TaskResponseDTO createTask(TaskCreateDTO newTask) {
@@ -38,62 +62,154 @@ public class TaskService {
 
         Task task = TaskMapper.toEntity(newTask, user, team);
         Task saved = tasksRepository.save(task);
+        taskStatusCounterService.taskAdded(saved);
+        taskTitleIndex.taskSaved(user.getId(), TaskMapper.toSummaryDTO(saved));
 
         return TaskMapper.toResponseDTO(saved);
     }
 
     public List<TaskSummaryDTO> getUserTasks() {
-        User user = userService.getLoggedUser();
-        List<Task> tasks = tasksRepository.findByUser(user);
-        return TaskMapper.toSummaryDTOList(tasks);
+        User user = userService.getLoggedUserReference();
+        return tasksRepository.findSummariesByUser(user);
+    }
+
+    public TaskStatusCountsDTO getUserTaskStats() {
+        User user = userService.getLoggedUserReference();
+        return taskStatusCounterService.countsFor(CounterScope.USER, user.getId());
+    }
+
+    public TaskPageDTO getUserTasksPage(int page, int size) {
+        if(page < 0) throw new BadRequestException("Page must not be negative");
+
+        User user = userService.getLoggedUserReference();
+        Slice<TaskPageRowDTO> slice =
+                tasksRepository.findPageRowsByUser(user, PageRequest.of(page, requirePageSize(size), TASK_PAGE_ORDER));
+        return toPage(slice, page);
+    }
+
+    public TaskPageDTO getUserTasksAfter(String after, int limit) {
+        TaskCursor cursor = after == null ? null : TaskCursor.decode(after);
+        User user = userService.getLoggedUserReference();
+        int pageSize = requirePageSize(limit);
+
+        Slice<TaskPageRowDTO> slice = cursor == null
+                ? tasksRepository.findPageRowsByUser(user, PageRequest.of(0, pageSize, TASK_PAGE_ORDER))
+                : tasksRepository.findPageRowsByUserAfter(user, cursor.createdAt(), cursor.id(), PageRequest.of(0, pageSize));
+        return toPage(slice, null);
     }
 
     public TaskResponseDTO getTaskById(Integer id) {
-        User user = userService.getLoggedUser();
+        User user = userService.getLoggedUserReference();
         Task task = requireTask(id);
         requireCanAccessTask(task, user);
         return TaskMapper.toResponseDTO(task);
     }
 
     public List<TaskResponseDTO> getTasksByTeam(Long teamId) {
-        User user = userService.getLoggedUser();
+        User user = userService.getLoggedUserReference();
         Team team = teamAccessAuthService.requireTeam(teamId);
 
         if(!teamAccessAuthService.isMember(team, user)) {
             throw new UnauthorizedActionException("You are not allowed to visualise tasks from teams you are not part");
         }
 
-        List<Task> tasks = tasksRepository.findByTeam(team);
+        List<Task> tasks = tasksRepository.findWithUserAndTeamByTeam(team);
         return TaskMapper.toResponseDTOlist(tasks);
     }
 
     @Transactional
     public TaskResponseDTO updateTask(Integer id, TaskUpdateDTO dto) {
-        User user = userService.getLoggedUser();
+        User user = userService.getLoggedUserReference();
         Task task = requireTask(id);
         requireCanAccessTask(task, user);
+        Status previousStatus = task.getStatus();
         TaskMapper.updateEntity(task, dto);
-        return TaskMapper.toResponseDTO(tasksRepository.save(task));
+        Task saved = tasksRepository.save(task);
+        taskStatusCounterService.statusChanged(saved, previousStatus);
+        taskTitleIndex.taskSaved(task.getUser().getId(), TaskMapper.toSummaryDTO(saved));
+        return TaskMapper.toResponseDTO(saved);
     }
 
     public List<TaskSummaryDTO> findByTitle(String keyword) {
-        User user = userService.getLoggedUser();
-        List<Task> tasks = tasksRepository.findByUserAndTitleContainingIgnoreCase(user, keyword);
-        return TaskMapper.toSummaryDTOList(tasks);
+        User user = userService.getLoggedUserReference();
+        return tasksRepository.findSummariesByUserAndTitle(user, keyword);
+    }
+
+    // Type-ahead over the caller's task titles, served from the in-memory index
+    public List<TaskSummaryDTO> suggestByTitle(String prefix, int limit) {
+        User user = userService.getLoggedUserReference();
+        return taskTitleIndex.search(user, prefix, requirePageSize(limit));
+    }
+
+    // Full-text search over title and description; ids come back ranked, summaries are loaded for that page only
+    public TaskPageDTO searchTasks(String query, int page, int size) {
+        if(page < 0) throw new BadRequestException("Page must not be negative");
+
+        String tsQuery = TaskSearchQuery.toPrefixTsQuery(query);
+        if(tsQuery == null) throw new BadRequestException("Search query must contain at least one word");
+
+        int pageSize = requirePageSize(size);
+        User user = userService.getLoggedUserReference();
+
+        // One extra id tells whether another page exists
+        List<Integer> ids = tasksRepository.searchIdsByUser(user.getId(), tsQuery, pageSize + 1, (long) page * pageSize);
+        boolean hasNext = ids.size() > pageSize;
+        List<Integer> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+
+        List<TaskSummaryDTO> items = List.of();
+        if(!pageIds.isEmpty()) {
+            Map<Integer, TaskSummaryDTO> byId = tasksRepository.findSummariesByIds(pageIds)
+                    .stream()
+                    .collect(Collectors.toMap(TaskSummaryDTO::getId, Function.identity()));
+            items = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        }
+
+        return TaskPageDTO.builder()
+                .items(items)
+                .page(page)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // Every filter of the query is optional; they are combined into one criteria query over the caller's tasks
+    public TaskPageDTO queryTasks(TaskQueryDTO query) {
+        if(query.getPage() < 0) throw new BadRequestException("Page must not be negative");
+        requireRange(query.getDeadlineFrom(), query.getDeadlineTo(), "deadline");
+        requireRange(query.getCreatedFrom(), query.getCreatedTo(), "createdAt");
+
+        User user = userService.getLoggedUserReference();
+        Specification<Task> spec = TaskSpecifications.ownedBy(user)
+                .and(TaskSpecifications.statusIn(query.getStatus()))
+                .and(TaskSpecifications.inTeam(query.getTeamId()))
+                .and(TaskSpecifications.deadlineBetween(query.getDeadlineFrom(), query.getDeadlineTo()))
+                .and(TaskSpecifications.createdBetween(query.getCreatedFrom(), query.getCreatedTo()))
+                .and(TaskSpecifications.textContains(query.getText()));
+
+        PageRequest pageRequest = PageRequest.of(query.getPage(), requirePageSize(query.getSize()), querySort(query));
+        Slice<TaskSummaryDTO> slice = tasksRepository.findSummaries(spec, pageRequest);
+
+        return TaskPageDTO.builder()
+                .items(slice.getContent())
+                .page(query.getPage())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
     }
 
     public List<TaskSummaryDTO> findByStatus(Status status) {
-        User  user = userService.getLoggedUser();
-        List<Task> tasks = tasksRepository.findByUserAndStatus(user, status);
-        return TaskMapper.toSummaryDTOList(tasks);
+        User  user = userService.getLoggedUserReference();
+        return tasksRepository.findSummariesByUserAndStatus(user, status);
     }
 
     @Transactional
     public void deleteTask(Integer id) {
-        User user = userService.getLoggedUser();
+        User user = userService.getLoggedUserReference();
         Task task = requireTask(id);
         requireCanAccessTask(task, user);
         tasksRepository.delete(task);
+        taskStatusCounterService.taskRemoved(task);
+        taskTitleIndex.taskDeleted(task.getUser().getId(), task.getId());
     }
 
     // Helpers
@@ -113,6 +229,40 @@ public class TaskService {
         }
     }
 
+    private int requirePageSize(int size) {
+        if(size < 1) throw new BadRequestException("Page size must be at least 1");
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private void requireRange(LocalDateTime from, LocalDateTime to, String field) {
+        if(from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("The " + field + " range starts after it ends");
+        }
+    }
+
+    private Sort querySort(TaskQueryDTO query) {
+        if(!QUERY_SORT_FIELDS.contains(query.getSort())) {
+            throw new BadRequestException("Tasks can only be sorted by " + String.join(", ", QUERY_SORT_FIELDS.stream().sorted().toList()));
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(query.getDirection())
+                .orElseThrow(() -> new BadRequestException("Sort direction must be asc or desc"));
+        return Sort.by(direction, query.getSort()).and(Sort.by("id").ascending());
+    }
+
+    private TaskPageDTO toPage(Slice<TaskPageRowDTO> slice, Integer page) {
+        List<TaskPageRowDTO> rows = slice.getContent();
+        String nextCursor = slice.hasNext() && !rows.isEmpty()
+                ? TaskCursor.after(rows.get(rows.size() - 1)).encode()
+                : null;
+        return TaskPageDTO.builder()
+                .items(rows.stream().map(TaskMapper::toSummaryDTO).toList())
+                .page(page)
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     private Task requireTask(Integer id) {
         return tasksRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
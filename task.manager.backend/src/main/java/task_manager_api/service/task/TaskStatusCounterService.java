@@ -0,0 +1,200 @@
+package task_manager_api.service.task;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
+import task_manager_api.model.CounterScope;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.TaskStatusCounter;
+import task_manager_api.model.TaskStatusCounterId;
+import task_manager_api.repository.TaskStatusCounterRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps per-user and per-team task counts by status. Deltas are written in the same
+ * transaction as the task change, so counts commit or roll back with it. Tasks without
+ * a status are not counted. Removing a team or user deletes its tasks by cascade; the
+ * removal takes their counts off the other side's rows and drops the removed owner's rows
+ * in its own transaction. Any remaining drift is repaired by the periodic reconciliation,
+ * which walks owners in batches of reconcile-batch-size, each in its own short transaction.
+ * Every write path applies its deltas in one fixed row order, so two transactions moving
+ * tasks of the same team in opposite directions lock the counter rows in the same order
+ * instead of deadlocking.
+ */
+@Service
+public class TaskStatusCounterService {
+
+    private static final Comparator<TaskStatusCounterId> ROW_ORDER = Comparator
+            .comparing((TaskStatusCounterId id) -> id.getScopeType().name())
+            .thenComparing(TaskStatusCounterId::getScopeId)
+            .thenComparing(id -> id.getStatus().name());
+
+    private final TaskStatusCounterRepository counterRepository;
+    private final TransactionTemplate transaction;
+    private final int reconcileBatchSize;
+
+    public TaskStatusCounterService(
+            TaskStatusCounterRepository counterRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.tasks.status-counters.reconcile-batch-size:500}") int reconcileBatchSize
+    ) {
+        this.counterRepository = counterRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    public void taskAdded(Task task) {
+        Batch batch = batch();
+        batch.taskAdded(task);
+        apply(batch);
+    }
+
+    public void taskRemoved(Task task) {
+        Batch batch = batch();
+        batch.taskRemoved(task);
+        apply(batch);
+    }
+
+    public void statusChanged(Task task, Status previous) {
+        Batch batch = batch();
+        batch.statusChanged(task, previous);
+        apply(batch);
+    }
+
+    // removedTasks are the team's tasks as counted before the team was deleted
+    public void teamRemoved(Long teamId, List<TaskStatusCountRowDTO> removedTasks) {
+        ownerRemoved(CounterScope.TEAM, teamId, removedTasks);
+    }
+
+    // removedTasks are the user's tasks as counted before the user was deleted
+    public void userRemoved(Long userId, List<TaskStatusCountRowDTO> removedTasks) {
+        ownerRemoved(CounterScope.USER, userId, removedTasks);
+    }
+
+    private void ownerRemoved(CounterScope scope, Long scopeId, List<TaskStatusCountRowDTO> removedTasks) {
+        Batch batch = batch();
+        removedTasks.forEach(batch::tasksRemoved);
+        batch.deltas.keySet().removeIf(id -> id.getScopeType() == scope && id.getScopeId().equals(scopeId));
+
+        // The removed owner's rows are deleted in the place ROW_ORDER gives them: TEAM rows before USER rows
+        if (scope == CounterScope.TEAM) counterRepository.deleteByScope(scope, scopeId);
+        apply(batch);
+        if (scope == CounterScope.USER) counterRepository.deleteByScope(scope, scopeId);
+    }
+
+    // Collects the deltas of many task changes so a bulk operation writes each counter row once
+    public Batch batch() {
+        return new Batch();
+    }
+
+    public void apply(Batch batch) {
+        batch.deltas.forEach((id, delta) -> {
+            if (delta != 0) {
+                counterRepository.addDelta(id.getScopeType().name(), id.getScopeId(), id.getStatus().name(), delta);
+            }
+        });
+        batch.deltas.clear();
+    }
+
+    public TaskStatusCountsDTO countsFor(CounterScope scope, Long scopeId) {
+        TaskStatusCountsDTO dto = new TaskStatusCountsDTO();
+        for (Status status : Status.values()) {
+            dto.getCounts().put(status, 0L);
+        }
+        for (TaskStatusCounter counter : counterRepository.findByIdScopeTypeAndIdScopeId(scope, scopeId)) {
+            dto.getCounts().put(counter.getId().getStatus(), counter.getCount());
+            dto.setTotal(dto.getTotal() + counter.getCount());
+        }
+        return dto;
+    }
+
+    // Recounts every counter from the task table, rewriting only rows that drifted
+    @Scheduled(
+            fixedDelayString = "${app.tasks.status-counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.tasks.status-counters.reconcile-interval-ms:3600000}"
+    )
+    public void reconcile() {
+        for (CounterScope scope : CounterScope.values()) {
+            reconcile(scope);
+        }
+    }
+
+    private void reconcile(CounterScope scope) {
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Long> ownerIds = scope == CounterScope.USER
+                    ? counterRepository.findUserIdsAfter(after, reconcileBatchSize)
+                    : counterRepository.findTeamIdsAfter(after, reconcileBatchSize);
+            // The last range is left open so counters of owners deleted past the highest id are cleared too
+            boolean last = ownerIds.size() < reconcileBatchSize;
+            long from = after;
+            long upTo = last ? Long.MAX_VALUE : ownerIds.get(ownerIds.size() - 1);
+
+            transaction.executeWithoutResult(status -> {
+                if (scope == CounterScope.USER) {
+                    counterRepository.reconcileUserCounts(from, upTo);
+                    counterRepository.deleteStaleUserCounters(from, upTo);
+                } else {
+                    counterRepository.reconcileTeamCounts(from, upTo);
+                    counterRepository.deleteStaleTeamCounters(from, upTo);
+                }
+            });
+
+            if (last) return;
+            after = upTo;
+        }
+    }
+
+    public static final class Batch {
+
+        // Sorted so the counter rows are always locked in the same order
+        private final Map<TaskStatusCounterId, Long> deltas = new TreeMap<>(ROW_ORDER);
+
+        private Batch() {}
+
+        public void taskAdded(Task task) {
+            add(task, task.getStatus(), 1);
+        }
+
+        public void taskRemoved(Task task) {
+            add(task, task.getStatus(), -1);
+        }
+
+        public void statusChanged(Task task, Status previous) {
+            if (previous == task.getStatus()) return;
+
+            add(task, previous, -1);
+            add(task, task.getStatus(), 1);
+        }
+
+        public void tasksRemoved(TaskStatusCountRowDTO row) {
+            add(row.getUserId(), row.getTeamId(), row.getStatus(), -row.getTaskCount());
+        }
+
+        private void add(Task task, Status status, long delta) {
+            add(task.getUser() != null ? task.getUser().getId() : null,
+                    task.getTeam() != null ? task.getTeam().getId() : null,
+                    status, delta);
+        }
+
+        private void add(Long userId, Long teamId, Status status, long delta) {
+            if (status == null) return;
+
+            if (userId != null) {
+                deltas.merge(new TaskStatusCounterId(CounterScope.USER, userId, status), delta, Long::sum);
+            }
+            if (teamId != null) {
+                deltas.merge(new TaskStatusCounterId(CounterScope.TEAM, teamId, status), delta, Long::sum);
+            }
+        }
+    }
+}
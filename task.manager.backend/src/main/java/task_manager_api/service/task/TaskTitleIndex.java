@@ -0,0 +1,101 @@
+package task_manager_api.service.task;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-process title index per user for type-ahead search. A user's index is built from
+ * the database on their first search and then kept current by TaskService after each
+ * commit. Total size is capped by weight (tasks plus postings); cold users are evicted
+ * first and rebuilt on their next search.
+ */
+@Component
+public class TaskTitleIndex {
+
+    private final TasksRepository tasksRepository;
+    private final Cache<Long, UserTitleIndex> indexes;
+
+    public TaskTitleIndex(
+            TasksRepository tasksRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.tasks.title-index.max-weight:5000000}") long maxWeight,
+            @Value("${app.tasks.title-index.idle-minutes:30}") long idleMinutes
+    ) {
+        this.tasksRepository = tasksRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long userId, UserTitleIndex index) -> index.weight())
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "taskTitleIndexes");
+    }
+
+    public List<TaskSummaryDTO> search(User user, String query, int limit) {
+        List<String> prefixes = TaskSearchQuery.words(query);
+        if (prefixes.isEmpty()) return List.of();
+
+        UserTitleIndex index = indexes.get(user.getId(),
+                id -> new UserTitleIndex(tasksRepository.findSummariesByUser(user)));
+        return index.search(prefixes, limit);
+    }
+
+    // Only indexes already built are updated; computeIfPresent waits for an index being built
+    // concurrently, so a build that read the pre-commit rows still receives the change
+    public void taskSaved(Long userId, TaskSummaryDTO task) {
+        tasksSaved(userId, List.of(task));
+    }
+
+    public void tasksSaved(Long userId, List<TaskSummaryDTO> tasks) {
+        if (tasks.isEmpty()) return;
+        afterCommit(() -> indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            tasks.forEach(index::put);
+            return index;
+        }));
+    }
+
+    public void taskDeleted(Long userId, Integer taskId) {
+        tasksDeleted(userId, List.of(taskId));
+    }
+
+    public void tasksDeleted(Long userId, List<Integer> taskIds) {
+        if (taskIds.isEmpty()) return;
+        afterCommit(() -> indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            taskIds.forEach(index::remove);
+            return index;
+        }));
+    }
+
+    // For bulk deletes that bypass TaskService (team or account deletion cascading to tasks):
+    // the affected indexes are dropped and rebuilt from the database on the next search
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        afterCommit(() -> indexes.invalidateAll(userIds));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
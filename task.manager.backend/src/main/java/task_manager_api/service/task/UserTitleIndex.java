@@ -0,0 +1,136 @@
+package task_manager_api.service.task;
+
+import task_manager_api.DTO.task.TaskSummaryDTO;
+
+import java.util.*;
+
+/**
+ * Inverted index of one user's task titles: token -> sorted task ids.
+ * Posting lists are plain int arrays so memory stays proportional to the number of
+ * (token, task) pairs. All access is synchronized on the instance; updates are rare
+ * compared to type-ahead reads and each touches only the tokens of one title.
+ */
+final class UserTitleIndex {
+
+    private static final String PREFIX_END = String.valueOf(Character.MAX_VALUE);
+
+    private final TreeMap<String, int[]> postings = new TreeMap<>();
+    private final Map<Integer, TaskSummaryDTO> tasks = new HashMap<>();
+    private int postingCount;
+
+    UserTitleIndex(List<TaskSummaryDTO> summaries) {
+        summaries.forEach(this::put);
+    }
+
+    synchronized void put(TaskSummaryDTO task) {
+        if (task.getId() == null) return;
+
+        remove(task.getId());
+        tasks.put(task.getId(), task);
+        for (String token : tokens(task.getTitle())) {
+            postings.put(token, insert(postings.get(token), task.getId()));
+            postingCount++;
+        }
+    }
+
+    synchronized void remove(Integer taskId) {
+        TaskSummaryDTO old = tasks.remove(taskId);
+        if (old == null) return;
+
+        for (String token : tokens(old.getTitle())) {
+            int[] ids = delete(postings.get(token), taskId);
+            if (ids.length == 0) {
+                postings.remove(token);
+            } else {
+                postings.put(token, ids);
+            }
+            postingCount--;
+        }
+    }
+
+    // Tasks whose title has, for every prefix, a token starting with it; ordered by id
+    synchronized List<TaskSummaryDTO> search(List<String> prefixes, int limit) {
+        int[] matches = null;
+        for (String prefix : prefixes) {
+            int[] prefixMatches = union(postings.subMap(prefix, true, prefix + PREFIX_END, true).values());
+            matches = matches == null ? prefixMatches : intersect(matches, prefixMatches);
+            if (matches.length == 0) return List.of();
+        }
+        if (matches == null) return List.of();
+
+        List<TaskSummaryDTO> result = new ArrayList<>(Math.min(limit, matches.length));
+        for (int i = 0; i < matches.length && result.size() < limit; i++) {
+            result.add(tasks.get(matches[i]));
+        }
+        return result;
+    }
+
+    // Caffeine weight: one unit per task and per posting entry
+    synchronized int weight() {
+        return tasks.size() + postingCount;
+    }
+
+    private static Set<String> tokens(String title) {
+        return new HashSet<>(TaskSearchQuery.words(title));
+    }
+
+    private static int[] insert(int[] ids, int id) {
+        if (ids == null) return new int[]{id};
+
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) return ids;
+
+        int at = -pos - 1;
+        int[] grown = new int[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, at);
+        grown[at] = id;
+        System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+        return grown;
+    }
+
+    private static int[] delete(int[] ids, int id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) return ids;
+
+        int[] shrunk = new int[ids.length - 1];
+        System.arraycopy(ids, 0, shrunk, 0, pos);
+        System.arraycopy(ids, pos + 1, shrunk, pos, ids.length - pos - 1);
+        return shrunk;
+    }
+
+    private static int[] union(Collection<int[]> lists) {
+        if (lists.size() == 1) return lists.iterator().next();
+
+        int total = 0;
+        for (int[] ids : lists) total += ids.length;
+
+        int[] all = new int[total];
+        int offset = 0;
+        for (int[] ids : lists) {
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        Arrays.sort(all);
+
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) all[distinct++] = all[i];
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
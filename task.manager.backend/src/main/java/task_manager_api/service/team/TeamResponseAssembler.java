@@ -0,0 +1,116 @@
+package task_manager_api.service.team;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.DTO.team.TeamOverviewDTO;
+import task_manager_api.DTO.team.TeamOverviewRowDTO;
+import task_manager_api.DTO.team.TeamResponseDTO;
+import task_manager_api.DTO.team.UserMemberDTO;
+import task_manager_api.mapper.TaskMapper;
+import task_manager_api.mapper.TeamMapper;
+import task_manager_api.mapper.UserMapper;
+import task_manager_api.model.Status;
+import task_manager_api.model.Team;
+import task_manager_api.model.TeamMembership;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.repository.TeamMembershipRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds full team responses for any number of teams in a fixed number of queries:
+ * one for every membership with its user and one for every task summary,
+ * instead of walking memberships, users and tasks lazily team by team.
+ * Compact overviews come from a single GROUP BY query.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamResponseAssembler {
+
+    private final TeamMembershipRepository teamMembershipRepository;
+    private final TasksRepository tasksRepository;
+
+    public List<TeamResponseDTO> toResponseDTOsForMember(User user) {
+        List<Team> teams = teamMembershipRepository.findWithTeamByUser(user)
+                .stream()
+                .map(TeamMembership::getTeam)
+                .toList();
+        return toResponseDTOs(teams);
+    }
+
+    public TeamResponseDTO toResponseDTO(Team team) {
+        return toResponseDTOs(List.of(team)).get(0);
+    }
+
+    public List<TeamResponseDTO> toResponseDTOs(List<Team> teams) {
+        if (teams.isEmpty()) return List.of();
+
+        List<Long> teamIds = teams.stream().map(Team::getId).toList();
+
+        Map<Long, List<UserMemberDTO>> membersByTeam = teamMembershipRepository.findWithUserByTeamIds(teamIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        m -> m.getId().getTeamId(),
+                        Collectors.mapping(m -> UserMapper.toMemberDTO(m.getUser(), m.getTeamRole()), Collectors.toList())
+                ));
+
+        Map<Long, List<TaskSummaryDTO>> tasksByTeam = tasksRepository.findSummariesByTeamIds(teamIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        t -> t.getTeamId(),
+                        Collectors.mapping(TaskMapper::toSummaryDTO, Collectors.toList())
+                ));
+
+        return teams.stream()
+                .map(team -> TeamMapper.toResponseDTO(
+                        team,
+                        membersByTeam.getOrDefault(team.getId(), List.of()),
+                        tasksByTeam.getOrDefault(team.getId(), List.of())
+                ))
+                .toList();
+    }
+
+    public List<TeamOverviewDTO> toOverviewsForMember(User user) {
+        return toOverviews(teamMembershipRepository.findOverviewRowsByUser(user));
+    }
+
+    public TeamOverviewDTO toOverview(Team team, User user) {
+        return toOverviews(teamMembershipRepository.findOverviewRowsByUserAndTeam(user, team))
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<TeamOverviewDTO> toOverviews(List<TeamOverviewRowDTO> rows) {
+        Map<Long, TeamOverviewDTO> overviews = new LinkedHashMap<>();
+        for (TeamOverviewRowDTO row : rows) {
+            TeamOverviewDTO overview = overviews.computeIfAbsent(row.getTeamId(), id -> newOverview(row));
+
+            overview.setTaskCount(overview.getTaskCount() + row.getTaskCount());
+            if (row.getStatus() != null) {
+                overview.getTaskCountByStatus().put(row.getStatus(), row.getTaskCount());
+            }
+        }
+        return List.copyOf(overviews.values());
+    }
+
+    private TeamOverviewDTO newOverview(TeamOverviewRowDTO row) {
+        TeamOverviewDTO overview = TeamOverviewDTO.builder()
+                .teamId(row.getTeamId())
+                .teamName(row.getTeamName())
+                .createdAt(row.getCreatedAt())
+                .role(row.getRole())
+                .memberCount(row.getMemberCount())
+                .build();
+        // Statuses without tasks are reported as zero rather than left out
+        for (Status status : Status.values()) {
+            overview.getTaskCountByStatus().put(status, 0L);
+        }
+        return overview;
+    }
+}
@@ -3,24 +3,29 @@ package task_manager_api.service.team;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.team.TeamCreateDTO;
+import task_manager_api.DTO.team.TeamOverviewDTO;
 import task_manager_api.DTO.team.TeamResponseDTO;
 import task_manager_api.DTO.team.TeamUpdateDTO;
 import task_manager_api.DTO.team.UserMemberDTO;
 import task_manager_api.exceptions.ConflictException;
 import task_manager_api.exceptions.UnauthorizedActionException;
-import task_manager_api.mapper.TaskMapper;
 import task_manager_api.mapper.TeamMapper;
 import task_manager_api.mapper.UserMapper;
 import task_manager_api.model.*;
 import task_manager_api.repository.TasksRepository;
 import task_manager_api.repository.TeamMembershipRepository;
 import task_manager_api.repository.TeamRepository;
+import task_manager_api.service.task.TaskStatusCounterService;
+import task_manager_api.service.task.TaskTitleIndex;
 import task_manager_api.service.user.UserLookupService;
 import task_manager_api.service.user.UserService;
 
 import java.util.List;
+import java.util.Objects;
 
 
 @Service
@@ -34,6 +39,9 @@ public class TeamService {
     private final UserLookupService userLookupService;
     private final TeamMembershipPolicy membershipPolicy;
     private final TeamAccessAuthService teamAccessAuthService;
+    private final TeamResponseAssembler teamResponseAssembler;
+    private final TaskStatusCounterService taskStatusCounterService;
+    private final TaskTitleIndex taskTitleIndex;
 
     // --- Team ---
     @Transactional
@@ -51,15 +59,24 @@ public class TeamService {
     }
 
     public List<TeamResponseDTO> getAllTeamsForUser() {
-        return teamMembershipRepository.findByUser(userService.getLoggedUser())
-                .stream()
-                .map(TeamMembership::getTeam)
-                .map(TeamMapper::toResponseDTO)
-                .toList();
+        return teamResponseAssembler.toResponseDTOsForMember(userService.getLoggedUserReference());
+    }
+
+    public List<TeamOverviewDTO> getTeamOverviewsForUser() {
+        return teamResponseAssembler.toOverviewsForMember(userService.getLoggedUserReference());
     }
 
     @Transactional
     public TeamResponseDTO updateTeam(Long teamId, TeamUpdateDTO updatedTeam) {
+        return teamResponseAssembler.toResponseDTO(applyTeamUpdate(teamId, updatedTeam));
+    }
+
+    @Transactional
+    public TeamOverviewDTO updateTeamOverview(Long teamId, TeamUpdateDTO updatedTeam) {
+        return teamResponseAssembler.toOverview(applyTeamUpdate(teamId, updatedTeam), userService.getLoggedUser());
+    }
+
+    private Team applyTeamUpdate(Long teamId, TeamUpdateDTO updatedTeam) {
         User loggedUser = userService.getLoggedUser();
         Team team = teamAccessAuthService.requireTeam(teamId);
 
@@ -67,7 +84,7 @@ public class TeamService {
         requireOwner(membership, "Only the owner can update the team");
 
         team.setName(updatedTeam.getTeamName());
-        return TeamMapper.toResponseDTO(teamRepository.save(team));
+        return teamRepository.save(team);
     }
 
     @Transactional
@@ -78,13 +95,30 @@ public class TeamService {
         TeamMembership membership = teamAccessAuthService.requireMembership(team, loggedUser);
         requireOwner(membership, "Only the team owner can delete the team");
 
+        // The team's tasks go with it by cascade, so their owners' counters and title indexes change too
+        List<TaskStatusCountRowDTO> removedTasks = tasksRepository.countByStatusForTeam(team);
         teamMembershipRepository.deleteAllByTeam(team);
         teamRepository.delete(team);
+        taskStatusCounterService.teamRemoved(team.getId(), removedTasks);
+        taskTitleIndex.invalidate(removedTasks.stream()
+                .map(TaskStatusCountRowDTO::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
     }
 
     // Team members
     @Transactional
     public TeamResponseDTO addUserToTeam(Long teamId, String identifier, TeamRole role) {
+        return teamResponseAssembler.toResponseDTO(applyAddUserToTeam(teamId, identifier, role));
+    }
+
+    @Transactional
+    public TeamOverviewDTO addUserToTeamOverview(Long teamId, String identifier, TeamRole role) {
+        return teamResponseAssembler.toOverview(applyAddUserToTeam(teamId, identifier, role), userService.getLoggedUser());
+    }
+
+    private Team applyAddUserToTeam(Long teamId, String identifier, TeamRole role) {
         User currUser = userService.getLoggedUser();
         Team team = teamAccessAuthService.requireTeam(teamId);
 
@@ -106,11 +140,20 @@ public class TeamService {
         TeamMembership teamMembership = teamAccessAuthService.createMembership(team, newUser, desiredRole);
         team.getMemberships().add(teamMembership);
         teamRepository.save(team);
-        return TeamMapper.toResponseDTO(team);
+        return team;
     }
 
     @Transactional
     public TeamResponseDTO updateUserRole(Long teamId, Long userId, TeamRole newRole) {
+        return teamResponseAssembler.toResponseDTO(applyUserRoleUpdate(teamId, userId, newRole));
+    }
+
+    @Transactional
+    public TeamOverviewDTO updateUserRoleOverview(Long teamId, Long userId, TeamRole newRole) {
+        return teamResponseAssembler.toOverview(applyUserRoleUpdate(teamId, userId, newRole), userService.getLoggedUser());
+    }
+
+    private Team applyUserRoleUpdate(Long teamId, Long userId, TeamRole newRole) {
         if(newRole == null) throw new ConflictException("New role cannot be null");
 
         User currUser = userService.getLoggedUser();
@@ -127,7 +170,7 @@ public class TeamService {
 
         membershipToUpdate.setTeamRole(newRole);
         teamMembershipRepository.save(membershipToUpdate);
-        return TeamMapper.toResponseDTO(team);
+        return team;
     }
 
     @Transactional
@@ -168,10 +211,15 @@ public class TeamService {
         Team team = teamAccessAuthService.requireTeam(teamId);
 
         teamAccessAuthService.requireMembership(team, currUser);
-        return tasksRepository.findByTeam(team)
-                .stream()
-                .map(TaskMapper::toSummaryDTO)
-                .toList();
+        return tasksRepository.findSummariesByTeam(team);
+    }
+
+    public TaskStatusCountsDTO getTeamTaskStats(Long teamId) {
+        User currUser = userService.getLoggedUser();
+        Team team = teamAccessAuthService.requireTeam(teamId);
+
+        teamAccessAuthService.requireMembership(team, currUser);
+        return taskStatusCounterService.countsFor(CounterScope.TEAM, team.getId());
     }
 
     // Helpers
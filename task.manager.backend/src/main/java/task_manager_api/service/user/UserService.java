@@ -1,11 +1,15 @@
 package task_manager_api.service.user;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.team.TeamOverviewDTO;
 import task_manager_api.DTO.team.TeamResponseDTO;
 import task_manager_api.DTO.user.UserCreateDTO;
 import task_manager_api.DTO.user.UserResponseDTO;
@@ -13,12 +17,18 @@ import task_manager_api.DTO.user.UserUpdateDTO;
 import task_manager_api.exceptions.ConflictException;
 import task_manager_api.exceptions.ResourceNotFoundException;
 import task_manager_api.exceptions.UnauthorizedActionException;
-import task_manager_api.mapper.TeamMapper;
 import task_manager_api.mapper.UserMapper;
 import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
 import task_manager_api.repository.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import task_manager_api.security.AccessTokenDenyList;
 import task_manager_api.security.UserPrincipal;
+import task_manager_api.service.auth.CustomUserDetailsService;
+import task_manager_api.service.auth.RefreshTokenStore;
+import task_manager_api.service.task.TaskStatusCounterService;
+import task_manager_api.service.task.TaskTitleIndex;
+import task_manager_api.service.team.TeamResponseAssembler;
 
 import java.util.List;
 
@@ -30,6 +40,14 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserLookupService userLookupService;
+    private final AccessTokenDenyList accessTokenDenyList;
+    private final CustomUserDetailsService userDetailsService;
+    private final TeamResponseAssembler teamResponseAssembler;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TaskTitleIndex taskTitleIndex;
+    private final TasksRepository tasksRepository;
+    private final TaskStatusCounterService taskStatusCounterService;
+    private final MeterRegistry meterRegistry;
 
     // --- Create ---
     @Transactional
@@ -50,18 +68,41 @@ public class UserService {
 
     // --- Read ---
     public User getLoggedUser() {
+        // Later calls in the same persistence context are answered from it without another select
+        User user = userRepository.findById(loggedPrincipal().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Logged user not found"));
+        countLookup("loaded");
+        return user;
+    }
+
+    // For callers that only need the logged user's id or a foreign key to it. The reference is built
+    // from the principal's id without a select; reading any other field loads the row at that point.
+    public User getLoggedUserReference() {
+        User user = userRepository.getReferenceById(loggedPrincipal().getId());
+        countLookup("saved");
+        return user;
+    }
+
+    private UserPrincipal loggedPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication != null
                 && authentication.isAuthenticated()
                 && authentication.getPrincipal() instanceof UserPrincipal principal) {
-
-            return userRepository.findById(principal.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Logged user not found"));
+            return principal;
         }
         throw new UnauthorizedActionException("User is not authenticated");
     }
 
+    // result=saved counts the resolutions that skipped the user select
+    private void countLookup(String result) {
+        Counter.builder("app.logged_user.lookups")
+                .description("Logged user resolutions")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
     public UserResponseDTO getUserByUsername(String username) {
         return UserMapper.toResponseDTO(
                 userRepository.findByUsername(username.trim())
@@ -82,10 +123,11 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public List<TeamResponseDTO> getMyTeams() {
-        return getLoggedUser().getTeams()
-                .stream()
-                .map(TeamMapper::toResponseDTO)
-                .toList();
+        return teamResponseAssembler.toResponseDTOsForMember(getLoggedUserReference());
+    }
+
+    public List<TeamOverviewDTO> getMyTeamOverviews() {
+        return teamResponseAssembler.toOverviewsForMember(getLoggedUserReference());
     }
 
     // --- Update ---
@@ -96,6 +138,7 @@ public class UserService {
             throw new UnauthorizedActionException("You cannot update another user");
         }
         User user = userLookupService.requireUser(id);
+        boolean credentialsChanged = false;
 
         if (dto.getUserTitle() != null) user.setTitle(dto.getUserTitle());
         if (dto.getFirstName() != null) user.setFirstName(dto.getFirstName());
@@ -105,6 +148,7 @@ public class UserService {
             if(userRepository.existsByUsernameAndIdNot(newUsername, user.getId())) {
                 throw new ConflictException("Username is already taken");
             }
+            credentialsChanged = !newUsername.equals(user.getUsername());
             user.setUsername(newUsername);
         }
 
@@ -131,10 +175,18 @@ public class UserService {
                 throw new UnauthorizedActionException("New password is the same as the old one");
             }
             user.setPassword(passwordEncoder.encode(dto.getNewPassword()));
+            credentialsChanged = true;
         }
 
         try {
-            return UserMapper.toResponseDTO(userRepository.save(user));
+            UserResponseDTO response = UserMapper.toResponseDTO(userRepository.save(user));
+            userDetailsService.evictUser(user.getId());
+            if (credentialsChanged) {
+                // Tokens issued under the old username/password must not outlive the change
+                accessTokenDenyList.denyUser(user.getId());
+                refreshTokenStore.revokeAllForUser(user.getId());
+            }
+            return response;
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException("Username or email already exists");
         }
@@ -149,6 +201,13 @@ public class UserService {
             throw new UnauthorizedActionException("You are not allowed to delete another user's account");
         }
 
+        // The user's tasks go with it by cascade, so the counters of their teams change too
+        List<TaskStatusCountRowDTO> removedTasks = tasksRepository.countByStatusForUser(loggedUser);
         userRepository.delete(loggedUser);
+        taskStatusCounterService.userRemoved(loggedUser.getId(), removedTasks);
+        userDetailsService.evictUser(loggedUser.getId());
+        accessTokenDenyList.denyUser(loggedUser.getId());
+        refreshTokenStore.revokeAllForUser(loggedUser.getId());
+        taskTitleIndex.invalidate(List.of(loggedUser.getId()));
     }
 }
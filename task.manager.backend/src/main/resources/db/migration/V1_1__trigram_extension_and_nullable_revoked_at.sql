@@ -0,0 +1,7 @@
+-- Runs in a transaction ahead of V2, whose concurrent index builds cannot share one with these statements
+
+-- Case-insensitive substring title search (idx_task_title_trgm in V2) needs the trigram operator class
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- revoked_at is null until a token is revoked; ddl-auto (and so V1) created it NOT NULL
+ALTER TABLE refresh_tokens ALTER COLUMN revoked_at DROP NOT NULL;
@@ -0,0 +1,58 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6),
+    verified   BOOLEAN NOT NULL
+);
+
+CREATE TABLE teams (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE task (
+    id           INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    status       VARCHAR(255),
+    date_created TIMESTAMP(6),
+    deadline     TIMESTAMP(6),
+    user_id      BIGINT REFERENCES users (id),
+    team_id      BIGINT REFERENCES teams (id)
+);
+
+CREATE TABLE team_membership (
+    team_id   BIGINT NOT NULL REFERENCES teams (id),
+    user_id   BIGINT NOT NULL REFERENCES users (id),
+    team_role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (team_id, user_id)
+);
+
+CREATE TABLE refresh_tokens (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    jti             VARCHAR(64) NOT NULL UNIQUE,
+    token_hash      VARCHAR(64) NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    replaced_by_jti VARCHAR(64)
+);
+
+CREATE UNIQUE INDEX idx_refresh_token_jti ON refresh_tokens (jti);
+CREATE INDEX idx_refresh_token_user ON refresh_tokens (user_id);
+
+CREATE TABLE verification_token (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token                    VARCHAR(255),
+    user_id                  BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    verification_expiry_date TIMESTAMP(6)
+);
@@ -0,0 +1,19 @@
+-- Indexes for the hot task and membership lookups, built CONCURRENTLY so writes to task and
+-- team_membership keep going while they build (which is why the sibling .sql.conf runs this
+-- script outside a transaction).
+-- A failed concurrent build leaves an INVALID index behind: drop it before re-running the migration.
+
+-- findSummariesByUserAndStatus, and every user_id-only filter through the leading column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_status ON task (user_id, status);
+
+-- Paged and keyset user listings ordered by (date_created, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_date_created ON task (user_id, date_created, id);
+
+-- Team task listings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_team_date_created ON task (team_id, date_created);
+
+-- The primary key (team_id, user_id) serves findByTeamAndUser; this one serves lookups by user
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_team_membership_user ON team_membership (user_id);
+
+-- Case-insensitive substring title search: LOWER(title) LIKE '%keyword%' (pg_trgm is created in V1_1)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_title_trgm ON task USING gin (lower(title) gin_trgm_ops);
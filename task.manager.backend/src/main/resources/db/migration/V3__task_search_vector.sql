@@ -0,0 +1,9 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- The 'simple' configuration does no stemming, so it works for any language
+-- and lets prefix queries (word:*) match partially typed words.
+ALTER TABLE task ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_task_search_vector ON task USING gin (search_vector);
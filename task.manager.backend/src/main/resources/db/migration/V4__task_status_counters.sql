@@ -0,0 +1,18 @@
+-- Materialized task counts per user and per team for each status
+CREATE TABLE task_status_counter (
+    scope_type VARCHAR(16) NOT NULL,
+    scope_id   BIGINT NOT NULL,
+    status     VARCHAR(32) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (scope_type, scope_id, status)
+);
+
+INSERT INTO task_status_counter (scope_type, scope_id, status, task_count)
+SELECT 'USER', user_id, status, COUNT(*) FROM task
+WHERE user_id IS NOT NULL AND status IS NOT NULL
+GROUP BY user_id, status;
+
+INSERT INTO task_status_counter (scope_type, scope_id, status, task_count)
+SELECT 'TEAM', team_id, status, COUNT(*) FROM task
+WHERE team_id IS NOT NULL AND status IS NOT NULL
+GROUP BY team_id, status;
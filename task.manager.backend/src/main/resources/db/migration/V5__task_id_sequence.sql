@@ -0,0 +1,7 @@
+-- Task ids move from IDENTITY to a pooled sequence (allocation size 50) so inserts can be batched.
+-- With the pooled optimizer each nextval is the top of a block of 50 ids, so the first value
+-- must be at least max(id) + 50 for the first block to start above the existing rows.
+CREATE SEQUENCE task_seq INCREMENT BY 50;
+SELECT setval('task_seq', COALESCE(MAX(id), 0) + 50, false) FROM task;
+
+ALTER TABLE task ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,18 @@
+-- Remaining entities move from IDENTITY to pooled sequences (INCREMENT BY must match IdAllocation.POOL_SIZE,
+-- or hibernate.id.sequence.increment_size_mismatch_strategy=FIX must be set as in production).
+-- Each nextval is the top of a block, so the first value is max(id) + 50 to keep the first block above existing rows.
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE teams_seq INCREMENT BY 50;
+SELECT setval('teams_seq', COALESCE(MAX(id), 0) + 50, false) FROM teams;
+ALTER TABLE teams ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_seq', COALESCE(MAX(id), 0) + 50, false) FROM refresh_tokens;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE verification_token_seq INCREMENT BY 50;
+SELECT setval('verification_token_seq', COALESCE(MAX(id), 0) + 50, false) FROM verification_token;
+ALTER TABLE verification_token ALTER COLUMN id DROP IDENTITY IF EXISTS;
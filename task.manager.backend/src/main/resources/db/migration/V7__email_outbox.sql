@@ -0,0 +1,17 @@
+-- Transactional outbox for outgoing email, drained by EmailOutboxDispatcher
+CREATE SEQUENCE email_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE email_outbox (
+    id              BIGINT PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            TEXT NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE,
+    last_error      VARCHAR(1000)
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,9 @@
+-- Refresh token families: every token rotated from one login shares the family id of its first token
+ALTER TABLE refresh_tokens ADD COLUMN family_id VARCHAR(64);
+
+-- Existing chains cannot be reconstructed cheaply, so each existing token starts its own family
+UPDATE refresh_tokens SET family_id = jti WHERE family_id IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN family_id SET NOT NULL;
+
+CREATE INDEX idx_refresh_token_family ON refresh_tokens (family_id);
@@ -0,0 +1,10 @@
+-- Indexes for the two refresh token purge deletes, built CONCURRENTLY so logins keep writing
+-- refresh_tokens while they build (the sibling .sql.conf runs this script outside a transaction).
+-- A failed concurrent build leaves an INVALID index behind: drop it before re-running the migration.
+
+-- deleteExpiredBatch: expires_at < :expiredBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_expires_at ON refresh_tokens (expires_at);
+
+-- deleteRevokedBatch: revoked_at < :revokedBefore; active tokens (revoked_at null) stay out of the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_revoked_at ON refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,68 @@
+-- Optional: turns refresh_tokens into monthly range partitions on expires_at, so expired months
+-- are removed with a cheap DROP TABLE instead of row deletes. This is not a Flyway migration:
+-- run it by hand in a maintenance window (it rewrites the table under an exclusive lock), then
+-- set app.auth.refresh-tokens.partitioned=true so TokenCleanupService keeps partitions rolling.
+-- Partition keys must be part of every unique index, so the primary key becomes (id, expires_at)
+-- and jti is unique per (jti, expires_at); jtis are random UUIDs, so this does not weaken lookups.
+
+BEGIN;
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+ALTER INDEX idx_refresh_token_jti RENAME TO idx_refresh_token_jti_unpartitioned;
+ALTER INDEX idx_refresh_token_user RENAME TO idx_refresh_token_user_unpartitioned;
+ALTER INDEX idx_refresh_token_family RENAME TO idx_refresh_token_family_unpartitioned;
+ALTER INDEX idx_refresh_token_expires_at RENAME TO idx_refresh_token_expires_at_unpartitioned;
+ALTER INDEX idx_refresh_token_revoked_at RENAME TO idx_refresh_token_revoked_at_unpartitioned;
+
+CREATE TABLE refresh_tokens (LIKE refresh_tokens_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (expires_at);
+ALTER TABLE refresh_tokens ADD PRIMARY KEY (id, expires_at);
+CREATE UNIQUE INDEX idx_refresh_token_jti ON refresh_tokens (jti, expires_at);
+CREATE INDEX idx_refresh_token_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_token_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_token_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX idx_refresh_token_revoked_at ON refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
+
+-- Catches rows outside the monthly partitions (e.g. far-future expiries) instead of failing inserts
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+-- Creates partitions for this month and the next months_ahead months, and drops every monthly
+-- partition whose whole range lies before drop_before. Returns the number of partitions dropped.
+CREATE OR REPLACE FUNCTION refresh_tokens_maintain_partitions(drop_before TIMESTAMPTZ, months_ahead INT DEFAULT 2)
+RETURNS INT LANGUAGE plpgsql AS $$
+DECLARE
+    month_start TIMESTAMPTZ := date_trunc('month', now());
+    part RECORD;
+    dropped INT := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+            'refresh_tokens_p' || to_char(month_start + make_interval(months => i), 'YYYYMM'),
+            month_start + make_interval(months => i),
+            month_start + make_interval(months => i + 1));
+    END LOOP;
+
+    FOR part IN
+        SELECT c.relname FROM pg_inherits inh JOIN pg_class c ON c.oid = inh.inhrelid
+        WHERE inh.inhparent = 'refresh_tokens'::regclass AND c.relname ~ '^refresh_tokens_p[0-9]{6}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 17), 'YYYYMM') + INTERVAL '1 month' <= drop_before THEN
+            EXECUTE format('DROP TABLE %I', part.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+
+    RETURN dropped;
+END $$;
+
+SELECT refresh_tokens_maintain_partitions(now(), 2);
+
+-- Spent tokens are not copied; they would be purged right away anyway
+INSERT INTO refresh_tokens
+SELECT * FROM refresh_tokens_unpartitioned
+WHERE expires_at >= now() AND (revoked_at IS NULL OR revoked_at >= now() - INTERVAL '1 day');
+
+DROP TABLE refresh_tokens_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,49 @@
+package task_manager_api;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("mailsink")
+class EmailDeliveryIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void register_DeliversVerificationEmailThroughTheOutbox() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "mailuser", "password": "secret123", "email": "mailuser@test.com"}
+                                """))
+                .andExpect(status().isCreated());
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1), "verification email was not delivered");
+
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertEquals("mailuser@test.com", message.getAllRecipients()[0].toString());
+        assertEquals("Task Handler - Email Verification", message.getSubject());
+        assertTrue(GreenMailUtil.getBody(message).contains("/api/auth/verify?token="));
+    }
+}
@@ -11,6 +11,7 @@ import task_manager_api.DTO.Auth.LoginRequest;
 import task_manager_api.DTO.Auth.RegisterRequest;
 import task_manager_api.DTO.Auth.ResendVerificationRequest;
 import task_manager_api.controller.AuthController;
+import task_manager_api.exceptions.TooManyRequestsException;
 import task_manager_api.security.JwtAuthenticationFilter;
 import task_manager_api.security.JwtTokenProvider;
 import task_manager_api.service.auth.AuthService;
@@ -137,6 +138,20 @@ public class AuthControllerTest {
         verify(authService).login(any());
     }
 
+    @Test
+    void login_Returns429_WhenVerificationPoolFull() throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setUsername("user");
+        req.setPassword("pass");
+
+        when(authService.login(any())).thenThrow(new TooManyRequestsException("Too many login attempts in progress, please retry shortly"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests());
+    }
+
     @Test
     void refresh_Returns200_WhenValid() throws Exception {
         when(authService.refresh(anyString())).thenReturn(Map.of(
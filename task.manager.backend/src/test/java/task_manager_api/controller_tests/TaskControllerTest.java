@@ -10,10 +10,15 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import task_manager_api.DTO.task.*;
 import task_manager_api.controller.TaskController;
 import task_manager_api.model.Status;
 import task_manager_api.security.JwtAuthenticationFilter;
+import task_manager_api.service.task.TaskBulkService;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskExportService;
+import task_manager_api.service.task.TaskImportService;
 import task_manager_api.service.task.TaskService;
 
 
@@ -28,6 +33,9 @@ import static org.mockito.ArgumentMatchers.eq;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -44,6 +52,15 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskBulkService taskBulkService;
+
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -69,6 +86,53 @@ public class TaskControllerTest {
 
     }
 
+    @Test
+    void createTasksInBulk_ReturnsPerItemResults() throws Exception {
+        BulkTaskResultDTO result = BulkTaskResultDTO.builder()
+                .succeeded(1)
+                .failed(1)
+                .items(List.of(
+                        BulkTaskItemResultDTO.builder().index(0).taskId(5).success(true).build(),
+                        BulkTaskItemResultDTO.builder().index(1).success(false).error("title must not be blank").build()))
+                .build();
+
+        when(taskBulkService.createTasks(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"A\",\"deadline\":\"2030-01-01T00:00:00\"},{\"title\":\"\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[0].taskId").value(5))
+                .andExpect(jsonPath("$.items[1].error").value("title must not be blank"));
+
+        verify(taskBulkService).createTasks(argThat(list -> list.size() == 2));
+    }
+
+    @Test
+    void deleteTasksInBulk() throws Exception {
+        when(taskBulkService.deleteTasks(List.of(1, 2))).thenReturn(BulkTaskResultDTO.builder().succeeded(2).build());
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2));
+    }
+
+    @Test
+    void importTasks_PassesBodyAndFormat() throws Exception {
+        when(taskImportService.importTasks(eq(TaskExportFormat.CSV), any()))
+                .thenReturn(TaskImportResultDTO.builder().imported(1).chunksCommitted(1).lastCommittedRecord(1).completed(true).build());
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType("text/csv")
+                        .content("title,deadline\nFirst,2030-01-01T00:00:00\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
     @Test
     void getTasksForUser() throws Exception {
         TaskSummaryDTO dto = new TaskSummaryDTO();
@@ -89,6 +153,44 @@ public class TaskControllerTest {
 
     }
 
+    @Test
+    void getTasksPageForUser() throws Exception {
+        TaskSummaryDTO dto = new TaskSummaryDTO();
+        dto.setId(7);
+        dto.setTitle("First Task");
+
+        TaskPageDTO page = TaskPageDTO.builder()
+                .items(List.of(dto))
+                .page(2)
+                .size(1)
+                .hasNext(true)
+                .nextCursor("7")
+                .build();
+
+        when(taskService.getUserTasksPage(2, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks").param("page", "2").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("7"));
+    }
+
+    @Test
+    void getTasksAfterForUser() throws Exception {
+        TaskPageDTO page = TaskPageDTO.builder().size(50).build();
+
+        when(taskService.getUserTasksAfter("7", 50)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks").param("after", "7").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(taskService).getUserTasksAfter("7", 50);
+    }
+
     @Test
     void getTasksByTeam() throws Exception {
         TaskResponseDTO t1 = TaskResponseDTO.builder()
@@ -122,6 +224,101 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void exportTasks_StreamsCsvAttachment() throws Exception {
+        when(taskExportService.exportUserTasks(TaskExportFormat.CSV))
+                .thenReturn(out -> out.write("id,title\n1,First Task\n".getBytes()));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id,title\n1,First Task\n"));
+    }
+
+    @Test
+    void exportTasks_UnknownFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskExportService);
+    }
+
+    @Test
+    void queryTasks_BindsAllFilters() throws Exception {
+        when(taskService.queryTasks(any(TaskQueryDTO.class))).thenReturn(TaskPageDTO.builder().page(1).size(10).build());
+
+        mockMvc.perform(get("/api/tasks/query")
+                        .param("status", "IN_PROGRESS", "PLANNED")
+                        .param("teamId", "4")
+                        .param("deadlineFrom", "2025-06-02T00:00:00")
+                        .param("deadlineTo", "2025-06-09T00:00:00")
+                        .param("text", "report")
+                        .param("page", "1")
+                        .param("size", "10")
+                        .param("sort", "deadline")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1));
+
+        verify(taskService).queryTasks(argThat(q ->
+                q.getStatus().equals(List.of(Status.IN_PROGRESS, Status.PLANNED))
+                        && q.getTeamId() == 4L
+                        && q.getDeadlineFrom().equals(LocalDateTime.of(2025, 6, 2, 0, 0))
+                        && q.getDeadlineTo().equals(LocalDateTime.of(2025, 6, 9, 0, 0))
+                        && q.getCreatedFrom() == null
+                        && "report".equals(q.getText())
+                        && q.getPage() == 1
+                        && q.getSize() == 10
+                        && "deadline".equals(q.getSort())
+                        && "desc".equals(q.getDirection())));
+    }
+
+    @Test
+    void getTaskStatsForUser() throws Exception {
+        TaskStatusCountsDTO counts = TaskStatusCountsDTO.builder().total(2).build();
+        counts.getCounts().put(Status.PLANNED, 2L);
+
+        when(taskService.getUserTaskStats()).thenReturn(counts);
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PLANNED").value(2))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        TaskPageDTO page = TaskPageDTO.builder().page(0).size(20).build();
+
+        when(taskService.searchTasks("report", 0, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.size").value(20));
+
+        verify(taskService).searchTasks("report", 0, 20);
+    }
+
+    @Test
+    void suggestTasksByTitle() throws Exception {
+        TaskSummaryDTO dto = new TaskSummaryDTO();
+        dto.setId(3);
+        dto.setTitle("Fix login bug");
+
+        when(taskService.suggestByTitle("log", 10)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/api/tasks/search/suggest").param("q", "log"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].title").value("Fix login bug"));
+    }
+
     @Test
     void getTasksByKeywordInTitle() throws Exception {
         TaskSummaryDTO dto = new TaskSummaryDTO();
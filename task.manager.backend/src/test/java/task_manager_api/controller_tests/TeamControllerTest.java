@@ -8,9 +8,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.team.AddTeamMemberDTO;
 import task_manager_api.DTO.team.TeamCreateDTO;
+import task_manager_api.DTO.team.TeamOverviewDTO;
 import task_manager_api.DTO.team.TeamResponseDTO;
 import task_manager_api.DTO.team.UserMemberDTO;
 import task_manager_api.controller.TeamController;
@@ -19,6 +21,8 @@ import task_manager_api.model.Status;
 import task_manager_api.model.TeamRole;
 import task_manager_api.security.JwtAuthenticationFilter;
 import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskExportService;
 import task_manager_api.service.team.TeamService;
 
 import java.util.List;
@@ -42,6 +46,9 @@ class TeamControllerTest {
     @MockitoBean
     private TeamService teamService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
     // Mock the security-related beans
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -131,6 +138,51 @@ class TeamControllerTest {
         verify(teamService).getAllTeamsForUser();
     }
 
+    @Test
+    void getUserTeams_Compact_ReturnsOverviews() throws Exception {
+        TeamOverviewDTO overview = TeamOverviewDTO.builder()
+                .teamId(1L)
+                .teamName("Team 1")
+                .role(TeamRole.OWNER)
+                .memberCount(3)
+                .taskCount(2)
+                .build();
+        overview.getTaskCountByStatus().put(Status.PLANNED, 2L);
+
+        when(teamService.getTeamOverviewsForUser()).thenReturn(List.of(overview));
+
+        mockMvc.perform(get("/api/teams").param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].teamId").value(1))
+                .andExpect(jsonPath("$[0].role").value("OWNER"))
+                .andExpect(jsonPath("$[0].memberCount").value(3))
+                .andExpect(jsonPath("$[0].taskCountByStatus.PLANNED").value(2))
+                .andExpect(jsonPath("$[0].members").doesNotExist());
+
+        verify(teamService).getTeamOverviewsForUser();
+    }
+
+    @Test
+    void updateUserRole_Compact_ReturnsOverview() throws Exception {
+        TeamOverviewDTO overview = TeamOverviewDTO.builder()
+                .teamId(1L)
+                .teamName("Team 1")
+                .role(TeamRole.OWNER)
+                .memberCount(2)
+                .build();
+
+        when(teamService.updateUserRoleOverview(1L, 2L, TeamRole.ADMIN)).thenReturn(overview);
+
+        mockMvc.perform(put("/api/teams/{teamId}/users/{userId}/role", 1L, 2L)
+                        .param("role", "ADMIN")
+                        .param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memberCount").value(2))
+                .andExpect(jsonPath("$.tasks").doesNotExist());
+
+        verify(teamService).updateUserRoleOverview(1L, 2L, TeamRole.ADMIN);
+    }
+
     @Test
     void getTeamMembers_Returns200() throws Exception {
         UserMemberDTO member = new UserMemberDTO(1L, "testuser", "test@example.com", TeamRole.MEMBER);
@@ -164,6 +216,22 @@ class TeamControllerTest {
         verify(teamService).getTeamTasks(1L);
     }
 
+    @Test
+    void exportTeamTasks_StreamsNdjson() throws Exception {
+        when(taskExportService.exportTeamTasks(1L, TaskExportFormat.NDJSON))
+                .thenReturn(out -> out.write("{\"id\":101}\n".getBytes()));
+
+        MvcResult result = mockMvc.perform(get("/api/teams/1/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"team-1-tasks.ndjson\""))
+                .andExpect(content().string("{\"id\":101}\n"));
+    }
+
     // --- Delete ---
     @Test
     void deleteTeam_Returns204() throws Exception {
@@ -14,6 +14,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import task_manager_api.controller.UserController;
 import task_manager_api.model.User;
+import task_manager_api.security.AccessTokenDenyList;
 import task_manager_api.security.JwtTokenProvider;
 import task_manager_api.security.UserPrincipal;
 import task_manager_api.service.auth.CustomUserDetailsService;
@@ -42,6 +43,9 @@ class UserControllerTest {
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockitoBean
+    private AccessTokenDenyList accessTokenDenyList;
+
     // 3. Define a mini-config to enable @PreAuthorize in the test
     @TestConfiguration
     @EnableMethodSecurity
@@ -0,0 +1,97 @@
+package task_manager_api.perf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+import task_manager_api.service.auth.InMemoryRefreshTokenStore;
+import task_manager_api.service.auth.JpaRefreshTokenStore;
+import task_manager_api.service.auth.RefreshTokenStore;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotates perf.rotations refresh tokens with perf.concurrency threads against the jpa store and
+ * against the in-memory store, and reports rotations per second for each. Each rotation runs in
+ * its own transaction as it does inside AuthService.refresh; both stores write the revocation
+ * through, the in-memory one defers only the replacement's insert. Runs only with -Pperf; H2 stands in
+ * for PostgreSQL, so compare the two numbers rather than reading either as production capacity.
+ */
+@Tag("perf")
+@SpringBootTest
+class RefreshTokenStoreBenchmarkTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareRotationThroughput() throws Exception {
+        int rotations = Integer.getInteger("perf.rotations", 5000);
+        int concurrency = Integer.getInteger("perf.concurrency", 16);
+
+        InMemoryRefreshTokenStore memory = new InMemoryRefreshTokenStore(
+                refreshTokenRepository, transactionManager, new SimpleMeterRegistry(), 500_000, 500);
+
+        double jpaRate = rotationsPerSecond(new JpaRefreshTokenStore(refreshTokenRepository), rotations, concurrency);
+        double memoryRate = rotationsPerSecond(memory, rotations, concurrency);
+        int flushed = memory.flush();
+
+        System.out.printf("refresh rotations/s with %d threads: jpa=%.0f memory=%.0f (write-behind flushed %d rows)%n",
+                concurrency, jpaRate, memoryRate, flushed);
+        assertEquals(rotations, flushed);
+    }
+
+    private double rotationsPerSecond(RefreshTokenStore store, int rotations, int concurrency) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> jtis = new ArrayList<>(rotations);
+        for (int i = 0; i < rotations; i++) {
+            RefreshToken token = token();
+            transaction.executeWithoutResult(status -> store.save(token));
+            jtis.add(token.getJti());
+        }
+        // Measure steady-state rotations of tokens that already have their row
+        if (store instanceof InMemoryRefreshTokenStore memory) memory.flush();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger rotated = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(rotations);
+
+        long start = System.nanoTime();
+        for (String jti : jtis) {
+            futures.add(pool.submit(() -> transaction.executeWithoutResult(status -> {
+                if (store.rotate(jti, token())) rotated.incrementAndGet();
+            })));
+        }
+        for (Future<?> future : futures) future.get(2, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        assertEquals(rotations, rotated.get());
+        return rotations / (elapsed / 1_000_000_000.0);
+    }
+
+    private static RefreshToken token() {
+        RefreshToken rt = new RefreshToken();
+        rt.setUserId(1L);
+        rt.setJti(UUID.randomUUID().toString());
+        rt.setTokenHash(UUID.randomUUID().toString().replace("-", ""));
+        rt.setFamilyId(rt.getJti());
+        rt.setExpiresAt(Instant.now().plusSeconds(3600));
+        return rt;
+    }
+}
@@ -0,0 +1,124 @@
+package task_manager_api.perf;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registers perf.users users over HTTP with perf.concurrency parallel clients and waits until
+ * every verification email reaches the embedded SMTP server. Reports registration throughput
+ * and latency, outbox dispatch lag, and how many emails went over each SMTP connection.
+ * Runs only with -Pperf. H2 and GreenMail stand in for PostgreSQL and the real SMTP server,
+ * so use the numbers to compare changes to the mail path, not as production capacity.
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mailsink")
+class RegistrationLoadTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void registerUsersConcurrently() throws Exception {
+        int users = Integer.getInteger("perf.users", 500);
+        int concurrency = Integer.getInteger("perf.concurrency", 16);
+
+        HttpClient client = HttpClient.newHttpClient();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger created = new AtomicInteger();
+        List<Future<Long>> latencies = new ArrayList<>(users);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            String body = """
+                    {"username": "load%1$d", "password": "secret123", "email": "load%1$d@test.com"}
+                    """.formatted(i);
+            latencies.add(clients.submit(() -> {
+                long sent = System.nanoTime();
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 201) created.incrementAndGet();
+                return System.nanoTime() - sent;
+            }));
+        }
+
+        List<Long> requestNanos = new ArrayList<>(users);
+        for (Future<Long> latency : latencies) requestNanos.add(latency.get());
+        long registered = System.nanoTime();
+
+        boolean delivered = greenMail.waitForIncomingEmail(TimeUnit.MINUTES.toMillis(5), users);
+        long drained = System.nanoTime();
+        clients.shutdown();
+
+        requestNanos.sort(null);
+        Timer lag = meterRegistry.get("app.email_outbox.lag").timer();
+        DistributionSummary batches = meterRegistry.get("app.email_outbox.batch.size").summary();
+
+        System.out.printf("%n--- Registration load: %d users, %d clients ---%n", users, concurrency);
+        System.out.printf("registrations/s        %.1f (%d created)%n", users / seconds(registered - start), created.get());
+        System.out.printf("request latency ms     p50 %.1f  p95 %.1f  max %.1f%n",
+                millis(percentile(requestNanos, 0.5)), millis(percentile(requestNanos, 0.95)),
+                millis(requestNanos.get(requestNanos.size() - 1)));
+        System.out.printf("end-to-end emails/s    %.1f (%d received)%n",
+                greenMail.getReceivedMessages().length / seconds(drained - start), greenMail.getReceivedMessages().length);
+        System.out.printf("dispatch lag ms        mean %.1f  max %.1f%s%n",
+                lag.mean(TimeUnit.MILLISECONDS), lag.max(TimeUnit.MILLISECONDS), lagPercentiles(lag));
+        System.out.printf("smtp connections       %d (%.1f emails per connection)%n", batches.count(), batches.mean());
+
+        assertEquals(users, created.get());
+        assertTrue(delivered, "not every verification email was delivered");
+    }
+
+    private static String lagPercentiles(Timer lag) {
+        StringBuilder text = new StringBuilder();
+        for (ValueAtPercentile value : lag.takeSnapshot().percentileValues()) {
+            text.append(String.format("  p%.0f %.1f", value.percentile() * 100, value.value(TimeUnit.MILLISECONDS)));
+        }
+        return text.toString();
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
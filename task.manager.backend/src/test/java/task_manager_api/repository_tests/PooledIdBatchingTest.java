@@ -0,0 +1,73 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class PooledIdBatchingTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new RepositoryTestData(em).statistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userAndTeamInserts_AreBatched() {
+        for (int i = 0; i < 100; i++) {
+            User user = new User();
+            user.setUsername("user-" + i);
+            user.setEmail("user-" + i + "@test.com");
+            user.setPassword("ENC");
+            em.persist(user);
+
+            Team team = new Team();
+            team.setName("team-" + i);
+            em.persist(team);
+        }
+        em.flush();
+
+        assertEquals(200, statistics.getEntityInsertCount());
+        // One statement per row under IDENTITY; now a few sequence calls plus two batches per table
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void refreshTokenInserts_ShareOneSequenceCallPerBlock() {
+        for (int i = 0; i < 50; i++) {
+            RefreshToken token = new RefreshToken();
+            token.setUserId(1L);
+            token.setJti("jti-" + i);
+            token.setTokenHash("hash-" + i);
+            token.setFamilyId("family-" + i);
+            token.setExpiresAt(Instant.now().plusSeconds(60));
+            em.persist(token);
+        }
+        em.flush();
+
+        assertEquals(50, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 6,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,77 @@
+package task_manager_api.repository_tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenFamilyTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private void token(String jti, Long userId, String familyId, boolean revoked) {
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setJti(jti);
+        token.setTokenHash("hash-" + jti);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(Instant.now().plusSeconds(3600));
+        if (revoked) token.setRevokedAt(Instant.now().minusSeconds(60));
+        em.persist(token);
+    }
+
+    private RefreshToken find(String jti) {
+        return refreshTokenRepository.findByJti(jti).orElseThrow();
+    }
+
+    @Test
+    void revokeFamily_RevokesOnlyActiveTokensOfThatFamily() {
+        token("a1", 1L, "a", true);
+        token("a2", 1L, "a", false);
+        token("b1", 1L, "b", false);
+        em.flush();
+
+        assertEquals(1, refreshTokenRepository.revokeFamily("a", Instant.now()));
+
+        em.clear();
+        assertTrue(find("a2").isRevoked());
+        assertFalse(find("b1").isRevoked());
+    }
+
+    @Test
+    void revokeAllForUser_RevokesEveryFamilyOfTheUser() {
+        token("a1", 1L, "a", false);
+        token("b1", 1L, "b", false);
+        token("c1", 2L, "c", false);
+        em.flush();
+
+        assertEquals(2, refreshTokenRepository.revokeAllForUser(1L, Instant.now()));
+
+        em.clear();
+        assertFalse(find("c1").isRevoked());
+    }
+
+    @Test
+    void deleteByUserId_DeletesWithoutLoadingRows() {
+        token("a1", 1L, "a", false);
+        token("a2", 1L, "a", true);
+        token("c1", 2L, "c", false);
+        em.flush();
+
+        assertEquals(2, refreshTokenRepository.deleteByUserId(1L));
+
+        em.clear();
+        assertEquals(1, refreshTokenRepository.count());
+    }
+}
@@ -0,0 +1,60 @@
+package task_manager_api.repository_tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenPurgeTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private int seq;
+
+    private void token(Instant expiresAt, Instant revokedAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUserId(1L);
+        token.setJti("jti-" + seq);
+        token.setTokenHash("hash-" + seq++);
+        token.setFamilyId("family-1");
+        token.setExpiresAt(expiresAt);
+        token.setRevokedAt(revokedAt);
+        em.persist(token);
+    }
+
+    @Test
+    void deleteExpiredAndRevokedBatches_RemoveOnlyTheirOwnRows_InBoundedBatches() {
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(Duration.ofHours(24));
+
+        for (int i = 0; i < 4; i++) token(now.minusSeconds(60), null);                        // expired
+        token(now.plus(Duration.ofDays(7)), now.minus(Duration.ofDays(2)));                     // revoked long ago
+        token(now.plus(Duration.ofDays(7)), now.minus(Duration.ofDays(3)));                     // revoked long ago
+        token(now.plus(Duration.ofDays(7)), now.minus(Duration.ofHours(1)));                    // recently revoked, kept
+        token(now.plus(Duration.ofDays(7)), null);                                              // active, kept
+        em.flush();
+
+        assertEquals(3, refreshTokenRepository.deleteExpiredBatch(now, 3));
+        assertEquals(1, refreshTokenRepository.deleteExpiredBatch(now, 3));
+        assertEquals(0, refreshTokenRepository.deleteExpiredBatch(now, 3));
+
+        assertEquals(1, refreshTokenRepository.deleteRevokedBatch(revokedBefore, 1));
+        assertEquals(1, refreshTokenRepository.deleteRevokedBatch(revokedBefore, 1));
+        assertEquals(0, refreshTokenRepository.deleteRevokedBatch(revokedBefore, 1));
+
+        em.clear();
+        assertEquals(2, refreshTokenRepository.count());
+    }
+}
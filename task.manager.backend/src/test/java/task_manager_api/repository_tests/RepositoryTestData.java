@@ -0,0 +1,67 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.model.*;
+
+import java.util.function.Consumer;
+
+// Persists the users, teams, memberships and tasks repository tests build their data from
+class RepositoryTestData {
+
+    private final TestEntityManager em;
+
+    RepositoryTestData(TestEntityManager em) {
+        this.em = em;
+    }
+
+    User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("ENC");
+        return em.persist(user);
+    }
+
+    Team team(String name) {
+        Team team = new Team();
+        team.setName(name);
+        return em.persist(team);
+    }
+
+    TeamMembership membership(Team team, User user, TeamRole role) {
+        TeamMembership membership = new TeamMembership();
+        membership.setTeam(team);
+        membership.setUser(user);
+        membership.setTeamRole(role);
+        return em.persist(membership);
+    }
+
+    Task task(User user, Team team, String title) {
+        return task(user, team, title, task -> {});
+    }
+
+    // details fills in the remaining fields before the insert
+    Task task(User user, Team team, String title, Consumer<Task> details) {
+        Task task = new Task();
+        task.setUser(user);
+        task.setTeam(team);
+        task.setTitle(title);
+        details.accept(task);
+        return em.persist(task);
+    }
+
+    // Writes everything out and detaches it, so the code under test starts from the database
+    void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+    // Needs hibernate.generate_statistics=true on the test
+    Statistics statistics() {
+        return em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+}
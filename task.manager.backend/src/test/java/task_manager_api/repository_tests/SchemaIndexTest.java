@@ -0,0 +1,62 @@
+package task_manager_api.repository_tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifies the indexes mapped on the entities; V2 and V9 create the same ones in PostgreSQL
+@DataJpaTest
+class SchemaIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    // index name -> columns in key order
+    private Map<String, List<String>> indexesOf(String table) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name == null) continue;
+                indexes.computeIfAbsent(name.toLowerCase(), n -> new ArrayList<>())
+                        .add(rs.getString("COLUMN_NAME").toLowerCase());
+            }
+        }
+        return indexes;
+    }
+
+    @Test
+    void taskTable_HasCompositeIndexesForUserAndTeamQueries() throws SQLException {
+        Map<String, List<String>> indexes = indexesOf("TASK");
+
+        assertEquals(List.of("user_id", "status"), indexes.get("idx_task_user_status"));
+        assertEquals(List.of("user_id", "date_created", "id"), indexes.get("idx_task_user_date_created"));
+        assertEquals(List.of("team_id", "date_created"), indexes.get("idx_task_team_date_created"));
+    }
+
+    @Test
+    void teamMembershipTable_HasUserIndex() throws SQLException {
+        Map<String, List<String>> indexes = indexesOf("TEAM_MEMBERSHIP");
+
+        assertEquals(List.of("user_id"), indexes.get("idx_team_membership_user"));
+    }
+
+    @Test
+    void refreshTokenTable_HasExpiresAtIndexForThePurge() throws SQLException {
+        Map<String, List<String>> indexes = indexesOf("REFRESH_TOKENS");
+
+        assertEquals(List.of("expires_at"), indexes.get("idx_refresh_token_expires_at"));
+    }
+}
@@ -0,0 +1,45 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.model.Task;
+import task_manager_api.model.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class TaskBatchInsertTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void taskInserts_AreBatched_WithPooledSequenceIds() {
+        RepositoryTestData data = new RepositoryTestData(em);
+        User user = data.user("bulk");
+        em.flush();
+
+        Statistics statistics = data.statistics();
+        statistics.clear();
+
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task();
+            task.setTitle("task-" + i);
+            task.setUser(user);
+            em.persist(task);
+        }
+        em.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        // With IDENTITY this was one insert statement per task; now a few sequence calls plus two batches
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,60 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import task_manager_api.DTO.task.TaskResponseDTO;
+import task_manager_api.mapper.TaskMapper;
+import task_manager_api.model.Team;
+import task_manager_api.repository.TasksRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskQueryCountTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    private RepositoryTestData data;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(em);
+        statistics = data.statistics();
+    }
+
+    // Every task gets its own creator, the worst case for per-task lazy loading
+    private Team persistTeamWithTasks(int taskCount) {
+        Team team = data.team("team-" + taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            data.task(data.user("user-" + taskCount + "-" + i), team, "task-" + i);
+        }
+        data.flushAndClear();
+        return team;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void teamTaskResponses_UseOneStatement_RegardlessOfTaskCount(int taskCount) {
+        Team team = persistTeamWithTasks(taskCount);
+        statistics.clear();
+
+        List<TaskResponseDTO> responses = TaskMapper.toResponseDTOlist(tasksRepository.findWithUserAndTeamByTeam(team));
+
+        assertEquals(taskCount, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getCreator().getUsername() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,127 @@
+package task_manager_api.repository_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.repository.TaskSpecifications;
+import task_manager_api.repository.TasksRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TaskSpecificationsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 2, 12, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    private RepositoryTestData data;
+    private User owner;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(em);
+        owner = data.user("owner");
+        User other = data.user("other");
+        team = data.team("team");
+
+        persistTask(owner, team, "Weekly report", "numbers", Status.IN_PROGRESS, NOW.plusDays(2));
+        persistTask(owner, team, "Plan sprint", "includes REPORT review", Status.IN_PROGRESS, NOW.plusDays(10));
+        persistTask(owner, null, "Personal errand", null, Status.IN_PROGRESS, NOW.plusDays(1));
+        persistTask(owner, team, "Done thing", null, Status.COMPLETED, NOW.plusDays(3));
+        persistTask(other, team, "Someone else's report", null, Status.IN_PROGRESS, NOW.plusDays(2));
+        persistTask(owner, null, "100% sure_thing", null, Status.PLANNED, NOW.plusDays(5));
+
+        data.flushAndClear();
+    }
+
+    private void persistTask(User user, Team team, String title, String description, Status status, LocalDateTime deadline) {
+        data.task(user, team, title, task -> {
+            task.setDescription(description);
+            task.setStatus(status);
+            task.setDeadline(deadline);
+        });
+    }
+
+    private List<String> titles(Specification<Task> spec) {
+        return tasksRepository.findAll(spec, Sort.by("deadline")).stream().map(Task::getTitle).toList();
+    }
+
+    @Test
+    void combinedFilters_ReturnOnlyMatchingTasksOfTheOwner() {
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner)
+                .and(TaskSpecifications.statusIn(List.of(Status.IN_PROGRESS)))
+                .and(TaskSpecifications.inTeam(team.getId()))
+                .and(TaskSpecifications.deadlineBetween(NOW, NOW.plusDays(7)));
+
+        assertEquals(List.of("Weekly report"), titles(spec));
+    }
+
+    @Test
+    void textFilter_MatchesTitleOrDescriptionIgnoringCase() {
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner)
+                .and(TaskSpecifications.textContains("Report"));
+
+        assertEquals(List.of("Weekly report", "Plan sprint"), titles(spec));
+    }
+
+    @Test
+    void textFilter_TreatsLikeWildcardsLiterally() {
+        assertEquals(List.of("100% sure_thing"),
+                titles(TaskSpecifications.ownedBy(owner).and(TaskSpecifications.textContains("0% sure_"))));
+        assertEquals(1, titles(TaskSpecifications.ownedBy(owner).and(TaskSpecifications.textContains("_"))).size());
+    }
+
+    @Test
+    void missingFilters_AreIgnored() {
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner)
+                .and(TaskSpecifications.statusIn(null))
+                .and(TaskSpecifications.inTeam(null))
+                .and(TaskSpecifications.deadlineBetween(null, null))
+                .and(TaskSpecifications.createdBetween(null, null))
+                .and(TaskSpecifications.textContains("  "));
+
+        assertEquals(5, titles(spec).size());
+    }
+
+    @Test
+    void openEndedRange_UsesTheGivenBoundOnly() {
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner)
+                .and(TaskSpecifications.deadlineBetween(NOW.plusDays(5), null));
+
+        assertEquals(List.of("100% sure_thing", "Plan sprint"), titles(spec));
+    }
+
+    @Test
+    void findSummaries_ReturnsSliceOfSummariesWithoutCounting() {
+        Specification<Task> spec = TaskSpecifications.ownedBy(owner)
+                .and(TaskSpecifications.statusIn(List.of(Status.IN_PROGRESS)));
+
+        Slice<TaskSummaryDTO> first = tasksRepository.findSummaries(spec, PageRequest.of(0, 2, Sort.by("deadline")));
+        Slice<TaskSummaryDTO> last = tasksRepository.findSummaries(spec, PageRequest.of(1, 2, Sort.by("deadline")));
+
+        assertEquals(List.of("Personal errand", "Weekly report"), first.map(TaskSummaryDTO::getTitle).getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Plan sprint"), last.map(TaskSummaryDTO::getTitle).getContent());
+        assertFalse(last.hasNext());
+    }
+}
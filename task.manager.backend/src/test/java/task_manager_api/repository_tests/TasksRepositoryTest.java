@@ -0,0 +1,123 @@
+package task_manager_api.repository_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import task_manager_api.DTO.task.TaskPageRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.task.TaskCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TasksRepositoryTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 6, 2, 12, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TasksRepository tasksRepository;
+
+    private RepositoryTestData data;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(em);
+        owner = data.user("owner");
+    }
+
+    // dateCreated is stamped on insert, so it is set afterwards to give several tasks the same one
+    private List<Integer> persistTasksCreatedAt(LocalDateTime... createdAt) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < createdAt.length; i++) {
+            Task task = data.task(owner, null, "task-" + i);
+            em.flush();
+            em.getEntityManager().createQuery("UPDATE Task t SET t.dateCreated = :createdAt WHERE t.id = :id")
+                    .setParameter("createdAt", createdAt[i])
+                    .setParameter("id", task.getId())
+                    .executeUpdate();
+            ids.add(task.getId());
+        }
+        data.task(data.user("other"), null, "foreign");
+        data.flushAndClear();
+        return ids;
+    }
+
+    private static List<Integer> ids(Slice<TaskPageRowDTO> slice) {
+        return slice.map(TaskPageRowDTO::getId).getContent();
+    }
+
+    @Test
+    void findPageRowsByUserAfter_BreaksTiesById_AndKeepsPagingPastADeletedBoundaryTask() {
+        List<Integer> ids = persistTasksCreatedAt(CREATED, CREATED, CREATED, CREATED.plusSeconds(1), CREATED.plusSeconds(1));
+
+        Slice<TaskPageRowDTO> first = tasksRepository.findPageRowsByUser(owner, PageRequest.of(0, 2, Sort.by("dateCreated", "id")));
+        assertEquals(ids.subList(0, 2), ids(first));
+
+        TaskCursor cursor = TaskCursor.decode(TaskCursor.after(first.getContent().get(1)).encode());
+        tasksRepository.deleteById(ids.get(1));
+        data.flushAndClear();
+
+        Slice<TaskPageRowDTO> second = tasksRepository.findPageRowsByUserAfter(owner, cursor.createdAt(), cursor.id(), PageRequest.of(0, 2));
+        assertEquals(ids.subList(2, 4), ids(second));
+        assertTrue(second.hasNext());
+
+        Slice<TaskPageRowDTO> last = tasksRepository.findPageRowsByUserAfter(owner, CREATED.plusSeconds(1), ids.get(3), PageRequest.of(0, 2));
+        assertEquals(ids.subList(4, 5), ids(last));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void findSummariesByUserAndTitle_TreatsLikeWildcardsLiterally() {
+        data.task(owner, null, "100% sure_thing");
+        data.task(owner, null, "1000 sure things");
+        data.task(owner, null, "Plan sprint");
+        data.flushAndClear();
+
+        assertEquals(List.of("100% sure_thing"), tasksRepository.findSummariesByUserAndTitle(owner, "0% SURE_")
+                .stream().map(TaskSummaryDTO::getTitle).toList());
+        assertTrue(tasksRepository.findSummariesByUserAndTitle(owner, "Plan_sprint").isEmpty());
+    }
+
+    @Test
+    void countByStatus_GroupsTheTasksATeamOrUserRemovalDeletes() {
+        User member = data.user("member");
+        Team team = data.team("team");
+        data.task(owner, team, "a", task -> task.setStatus(Status.PLANNED));
+        data.task(owner, team, "b", task -> task.setStatus(Status.PLANNED));
+        data.task(member, team, "c", task -> task.setStatus(Status.COMPLETED));
+        data.task(owner, null, "d", task -> task.setStatus(Status.PLANNED));
+        data.flushAndClear();
+
+        assertEquals(Set.of(owner.getId() + "/" + team.getId() + "/PLANNED=2", member.getId() + "/" + team.getId() + "/COMPLETED=1"),
+                rows(tasksRepository.countByStatusForTeam(team)));
+        assertEquals(Set.of(owner.getId() + "/" + team.getId() + "/PLANNED=2", owner.getId() + "/null/PLANNED=1"),
+                rows(tasksRepository.countByStatusForUser(owner)));
+    }
+
+    private static Set<String> rows(List<TaskStatusCountRowDTO> rows) {
+        return rows.stream()
+                .map(row -> row.getUserId() + "/" + row.getTeamId() + "/" + row.getStatus() + "=" + row.getTaskCount())
+                .collect(Collectors.toSet());
+    }
+}
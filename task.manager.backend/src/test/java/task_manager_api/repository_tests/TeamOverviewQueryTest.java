@@ -0,0 +1,81 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import task_manager_api.DTO.team.TeamOverviewDTO;
+import task_manager_api.model.*;
+import task_manager_api.service.team.TeamResponseAssembler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TeamResponseAssembler.class)
+class TeamOverviewQueryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TeamResponseAssembler teamResponseAssembler;
+
+    private RepositoryTestData data;
+
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(em);
+    }
+
+    private void persistTask(Team team, User user, Status status) {
+        data.task(user, team, "task", task -> task.setStatus(status));
+    }
+
+    @Test
+    void toOverviewsForMember_CountsMembersAndTasksPerStatus_InOneStatement() {
+        User caller = data.user("caller");
+        User other = data.user("other");
+
+        Team busy = data.team("busy");
+        data.membership(busy, caller, TeamRole.ADMIN);
+        data.membership(busy, other, TeamRole.OWNER);
+        persistTask(busy, caller, Status.PLANNED);
+        persistTask(busy, other, Status.PLANNED);
+        persistTask(busy, other, Status.COMPLETED);
+
+        Team empty = data.team("empty");
+        data.membership(empty, caller, TeamRole.OWNER);
+
+        Team foreign = data.team("foreign");
+        data.membership(foreign, other, TeamRole.OWNER);
+
+        data.flushAndClear();
+
+        Statistics statistics = data.statistics();
+        statistics.clear();
+
+        List<TeamOverviewDTO> overviews = teamResponseAssembler.toOverviewsForMember(caller);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, overviews.size());
+
+        TeamOverviewDTO busyOverview = overviews.get(0);
+        assertEquals("busy", busyOverview.getTeamName());
+        assertEquals(TeamRole.ADMIN, busyOverview.getRole());
+        assertEquals(2, busyOverview.getMemberCount());
+        assertEquals(3, busyOverview.getTaskCount());
+        assertEquals(2L, busyOverview.getTaskCountByStatus().get(Status.PLANNED));
+        assertEquals(1L, busyOverview.getTaskCountByStatus().get(Status.COMPLETED));
+        assertEquals(0L, busyOverview.getTaskCountByStatus().get(Status.FAILED));
+
+        TeamOverviewDTO emptyOverview = overviews.get(1);
+        assertEquals(TeamRole.OWNER, emptyOverview.getRole());
+        assertEquals(1, emptyOverview.getMemberCount());
+        assertEquals(0, emptyOverview.getTaskCount());
+    }
+}
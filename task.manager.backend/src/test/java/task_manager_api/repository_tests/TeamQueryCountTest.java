@@ -0,0 +1,76 @@
+package task_manager_api.repository_tests;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import task_manager_api.DTO.team.TeamResponseDTO;
+import task_manager_api.model.Team;
+import task_manager_api.model.TeamRole;
+import task_manager_api.model.User;
+import task_manager_api.service.team.TeamResponseAssembler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TeamResponseAssembler.class)
+class TeamQueryCountTest {
+
+    private static final int MEMBERS_PER_TEAM = 5;
+    private static final int TASKS_PER_TEAM = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TeamResponseAssembler teamResponseAssembler;
+
+    private RepositoryTestData data;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(em);
+        statistics = data.statistics();
+    }
+
+    // The owner belongs to every team; each team has its own members and tasks
+    private User persistOwnerWithTeams(int teamCount) {
+        User owner = data.user("owner-" + teamCount);
+
+        for (int t = 0; t < teamCount; t++) {
+            Team team = data.team("team-" + teamCount + "-" + t);
+            data.membership(team, owner, TeamRole.OWNER);
+
+            for (int m = 0; m < MEMBERS_PER_TEAM; m++) {
+                data.membership(team, data.user("member-" + teamCount + "-" + t + "-" + m), TeamRole.MEMBER);
+            }
+            for (int i = 0; i < TASKS_PER_TEAM; i++) {
+                data.task(owner, team, "task-" + i);
+            }
+        }
+        data.flushAndClear();
+        return owner;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void teamResponses_UseThreeStatements_RegardlessOfTeamCount(int teamCount) {
+        User owner = persistOwnerWithTeams(teamCount);
+        statistics.clear();
+
+        List<TeamResponseDTO> responses = teamResponseAssembler.toResponseDTOsForMember(owner);
+
+        assertEquals(teamCount, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getMembers().size() == MEMBERS_PER_TEAM + 1));
+        assertTrue(responses.stream().allMatch(r -> r.getTasks().size() == TASKS_PER_TEAM));
+        assertTrue(responses.stream().flatMap(r -> r.getMembers().stream()).allMatch(m -> m.getUsername() != null));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
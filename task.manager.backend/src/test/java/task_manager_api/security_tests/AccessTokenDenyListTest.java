@@ -0,0 +1,74 @@
+package task_manager_api.security_tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task_manager_api.model.User;
+import task_manager_api.security.AccessTokenDenyList;
+import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.security.ParsedToken;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenDenyListTest {
+
+    private final JwtTokenProvider jwtTokenProvider =
+            new JwtTokenProvider("test-secret-test-secret-test-secret-0123456789", 60000, 120000, true, 30000);
+    private final AccessTokenDenyList denyList = new AccessTokenDenyList(jwtTokenProvider);
+
+    private static ParsedToken accessIssuedAt(long userId, Instant issuedAt) {
+        return new ParsedToken(true, userId, JwtTokenProvider.TYPE_ACCESS, "jti",
+                Date.from(issuedAt), Date.from(issuedAt.plusSeconds(30)), "user", true);
+    }
+
+    @Test
+    void tokensIssuedBeforeRevocation_AreDenied() {
+        ParsedToken old = accessIssuedAt(1L, Instant.now().minusSeconds(10));
+
+        assertFalse(denyList.isDenied(old));
+        denyList.denyUser(1L);
+        assertTrue(denyList.isDenied(old));
+    }
+
+    @Test
+    void tokenIssuedRightAfterRevocation_IsAllowed() throws Exception {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("user");
+        String before = jwtTokenProvider.generateAccessToken(user);
+        Thread.sleep(2);
+
+        denyList.denyUser(1L);
+        Thread.sleep(2);
+        String after = jwtTokenProvider.generateAccessToken(user);
+
+        assertTrue(denyList.isDenied(jwtTokenProvider.parse(before)));
+        assertFalse(denyList.isDenied(jwtTokenProvider.parse(after)));
+    }
+
+    @Test
+    void revocationInsideTransaction_AppliesOnlyAfterCommit() {
+        ParsedToken old = accessIssuedAt(1L, Instant.now().minusSeconds(10));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            denyList.denyUser(1L);
+            assertFalse(denyList.isDenied(old));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(denyList.isDenied(old));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tokensIssuedAfterRevocation_AndOtherUsers_AreAllowed() {
+        denyList.denyUser(1L);
+
+        assertFalse(denyList.isDenied(accessIssuedAt(1L, Instant.now().plusSeconds(2))));
+        assertFalse(denyList.isDenied(accessIssuedAt(2L, Instant.now().minusSeconds(10))));
+    }
+}
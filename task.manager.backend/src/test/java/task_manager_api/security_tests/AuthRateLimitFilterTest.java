@@ -0,0 +1,135 @@
+package task_manager_api.security_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import task_manager_api.security.AuthRateLimitFilter;
+import task_manager_api.security.AuthRateLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // login: 3 per IP and 2 per username per minute
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter(
+            new AuthRateLimiter(meterRegistry, true, 60, 1000, 3, 2, 5, 3, 5, 3),
+            new ObjectMapper());
+
+    private MockHttpServletResponse post(String path, String ip, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        if (chain.getRequest() != null) {
+            // The controller must still see the whole body
+            assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private static String login(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"pass\"}";
+    }
+
+    @Test
+    void login_LimitsByNormalizedUsername_AcrossAddresses() throws Exception {
+        assertEquals(200, post("/api/auth/login", "10.0.0.1", login("Alice")).getStatus());
+        assertEquals(200, post("/api/auth/login", "10.0.0.2", login(" alice ")).getStatus());
+
+        MockHttpServletResponse rejected = post("/api/auth/login", "10.0.0.3", login("ALICE"));
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(1, meterRegistry.get("app.rate_limit.rejected")
+                .tag("endpoint", "login").tag("key", "identity").counter().count());
+    }
+
+    @Test
+    void login_LimitsByAddress_AcrossUsernames() throws Exception {
+        assertEquals(200, post("/api/auth/login", "10.0.0.1", login("a")).getStatus());
+        assertEquals(200, post("/api/auth/login", "10.0.0.1", login("b")).getStatus());
+        assertEquals(200, post("/api/auth/login", "10.0.0.1", login("c")).getStatus());
+        assertEquals(429, post("/api/auth/login", "10.0.0.1", login("d")).getStatus());
+
+        assertEquals(200, post("/api/auth/login", "10.0.0.9", login("d")).getStatus());
+    }
+
+    @Test
+    void otherRequests_AreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, post("/api/auth/refresh", "10.0.0.1", "{\"refreshToken\":\"r\"}").getStatus());
+        }
+    }
+
+    @Test
+    void malformedBody_StillCountsAgainstAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post("/api/auth/login", "10.0.0.1", "not json").getStatus());
+        }
+        assertEquals(429, post("/api/auth/login", "10.0.0.1", "not json").getStatus());
+    }
+
+    @Test
+    void asyncRead_ReceivesReplayedBytesBeforeAllDataRead() throws Exception {
+        byte[] body = login("async").getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream source = new ByteArrayInputStream(body);
+        // Stands in for the container: a drained stream goes straight to onAllDataRead
+        ServletInputStream original = new ServletInputStream() {
+            @Override public int read() { return source.read(); }
+            @Override public boolean isFinished() { return source.available() == 0; }
+            @Override public boolean isReady() { return !isFinished(); }
+            @Override public void setReadListener(ReadListener listener) {
+                try {
+                    if (isFinished()) listener.onAllDataRead(); else listener.onDataAvailable();
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return original;
+            }
+        };
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream replayed = chain.getRequest().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        replayed.setReadListener(new ReadListener() {
+            @Override public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                while (replayed.isReady()) {
+                    int n = replayed.read(buffer);
+                    if (n < 0) break;
+                    received.write(buffer, 0, n);
+                }
+            }
+            @Override public void onAllDataRead() { allDataRead.set(true); }
+            @Override public void onError(Throwable t) { fail(t); }
+        });
+
+        assertArrayEquals(body, received.toByteArray());
+        assertTrue(allDataRead.get());
+        assertTrue(replayed.isFinished());
+    }
+}
@@ -0,0 +1,69 @@
+package task_manager_api.security_tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import task_manager_api.model.User;
+import task_manager_api.security.AccessTokenDenyList;
+import task_manager_api.security.JwtAuthenticationFilter;
+import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.security.UserPrincipal;
+import task_manager_api.service.auth.CustomUserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("user");
+        user.setVerified(true);
+        return user;
+    }
+
+    // Issues a token for user 7, then revokes user 7 and sends the token through the filter
+    private Authentication authenticateRevokedToken(boolean statelessPrincipal) throws Exception {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 60000, 120000, statelessPrincipal, 30000);
+        AccessTokenDenyList denyList = new AccessTokenDenyList(jwtTokenProvider);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, denyList);
+
+        String token = jwtTokenProvider.generateAccessToken(user());
+        denyList.denyUser(7L);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void statelessPrincipal_RejectsDeniedToken() throws Exception {
+        assertNull(authenticateRevokedToken(true));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void loadedPrincipal_SkipsTheDenyList() throws Exception {
+        when(userDetailsService.loadUserById(7L)).thenReturn(new UserPrincipal(user()));
+
+        Authentication authentication = authenticateRevokedToken(false);
+
+        assertNotNull(authentication);
+        verify(userDetailsService).loadUserById(7L);
+    }
+}
@@ -0,0 +1,87 @@
+package task_manager_api.security_tests;
+
+import org.junit.jupiter.api.Test;
+import task_manager_api.model.User;
+import task_manager_api.security.IssuedRefreshToken;
+import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.security.ParsedToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60000, 120000, false, 30000);
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setVerified(true);
+        return user;
+    }
+
+    @Test
+    void parse_AccessToken_ExposesAllClaims() {
+        String token = provider.generateAccessToken(user(7L));
+
+        ParsedToken parsed = provider.parse(token);
+
+        assertTrue(parsed.valid());
+        assertTrue(parsed.isAccessToken());
+        assertFalse(parsed.isRefreshToken());
+        assertEquals(7L, parsed.userId());
+        assertNotNull(parsed.jti());
+        assertTrue(parsed.expiration().getTime() > System.currentTimeMillis());
+        assertTrue(parsed.hasPrincipalClaims());
+        assertEquals("user7", parsed.username());
+        assertTrue(parsed.verified());
+    }
+
+    @Test
+    void statelessMode_UsesShorterAccessLifetime() {
+        JwtTokenProvider stateless = new JwtTokenProvider(SECRET, 60000, 120000, true, 30000);
+
+        assertTrue(stateless.isStatelessPrincipal());
+        assertEquals(30000, stateless.getAccessExpirationMs());
+        ParsedToken parsed = stateless.parse(stateless.generateAccessToken(user(7L)));
+        assertTrue(parsed.expiration().getTime() <= System.currentTimeMillis() + 30000);
+    }
+
+    @Test
+    void parse_RefreshToken_HasRefreshType_AndTheIssuedJtiAndExpiry() {
+        IssuedRefreshToken issued = provider.generateRefreshToken(7L);
+        ParsedToken parsed = provider.parse(issued.token());
+
+        assertTrue(parsed.isRefreshToken());
+        assertFalse(parsed.isAccessToken());
+        assertFalse(parsed.hasPrincipalClaims());
+        assertEquals(issued.jti(), parsed.jti());
+        assertEquals(issued.expiresAt(), parsed.expiration().toInstant());
+    }
+
+    @Test
+    void parse_ReturnsInvalid_WhenSignedWithAnotherKey() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('0', 'x'), 60000, 120000, false, 30000);
+
+        ParsedToken parsed = provider.parse(other.generateAccessToken(user(7L)));
+
+        assertSame(ParsedToken.INVALID, parsed);
+        assertFalse(parsed.isAccessToken());
+    }
+
+    @Test
+    void parse_ReturnsInvalid_WhenExpired() {
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1000, -1000, false, -1000);
+
+        assertFalse(provider.parse(expiring.generateAccessToken(user(7L))).valid());
+    }
+
+    @Test
+    void parse_ReturnsInvalid_WhenMalformedOrBlank() {
+        assertFalse(provider.parse("not-a-jwt").valid());
+        assertFalse(provider.parse("").valid());
+        assertFalse(provider.parse(null).valid());
+    }
+}
@@ -0,0 +1,43 @@
+package task_manager_api.security_tests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import task_manager_api.security.SecurityConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderConfigTest {
+
+    private static PasswordEncoder encoder(int strength) {
+        return new SecurityConfig(null).passwordEncoder(strength);
+    }
+
+    @Test
+    void newHashes_ArePrefixed_AndNeedNoUpgrade() {
+        PasswordEncoder encoder = encoder(5);
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void legacyUnprefixedHashes_StillMatch_AndAreUpgraded() {
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        PasswordEncoder encoder = encoder(4);
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void raisingTheStrength_UpgradesOlderHashes() {
+        String weaker = encoder(4).encode("secret");
+
+        assertTrue(encoder(5).upgradeEncoding(weaker));
+        assertTrue(encoder(5).matches("secret", weaker));
+    }
+}
@@ -0,0 +1,63 @@
+package task_manager_api.security_tests;
+
+import org.junit.jupiter.api.Test;
+import task_manager_api.security.RateLimitBucket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacity_ThenReportsWait() {
+        RateLimitBucket bucket = new RateLimitBucket(3, MINUTE);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > 0 && wait <= MINUTE / 3, "wait should be at most one refill interval");
+    }
+
+    @Test
+    void refillsOverTime() throws Exception {
+        RateLimitBucket bucket = new RateLimitBucket(1, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        Thread.sleep(60);
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void concurrentCallers_NeverExceedCapacity() throws Exception {
+        RateLimitBucket bucket = new RateLimitBucket(100, MINUTE);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (bucket.tryAcquire() == 0) granted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(100, granted.get());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import task_manager_api.DTO.Auth.LoginRequest;
 import task_manager_api.DTO.Auth.RegisterRequest;
 import task_manager_api.exceptions.BadRequestException;
@@ -17,10 +18,12 @@ import task_manager_api.model.User;
 import task_manager_api.model.VerificationToken;
 import task_manager_api.repository.UserRepository;
 import task_manager_api.repository.VerificationTokenRepository;
+import task_manager_api.security.IssuedRefreshToken;
 import task_manager_api.security.JwtTokenProvider;
+import task_manager_api.security.ParsedToken;
 import task_manager_api.service.auth.AuthService;
+import task_manager_api.service.auth.RefreshTokenStore;
 import task_manager_api.service.notification.EmailService;
-import task_manager_api.repository.RefreshTokenRepository;
 import task_manager_api.model.RefreshToken;
 
 import java.time.Instant;
@@ -42,7 +45,7 @@ class AuthServiceTest {
     PasswordEncoder passwordEncoder;
     @MockitoBean JwtTokenProvider jwtTokenProvider;
     @MockitoBean EmailService emailService;
-    @MockitoBean RefreshTokenRepository refreshTokenRepository;
+    @MockitoBean RefreshTokenStore refreshTokenStore;
 
     @Autowired
     AuthService authService;
@@ -66,11 +69,21 @@ class AuthServiceTest {
         rt.setUserId(userId);
         rt.setJti(jti);
         rt.setTokenHash(tokenHash);
+        rt.setFamilyId("family-1");
         rt.setExpiresAt(expiresAt);
         if (revoked) rt.setRevokedAt(Instant.now());
         return rt;
     }
 
+    private static ParsedToken parsedRefresh(long userId, String jti) {
+        return new ParsedToken(true, userId, JwtTokenProvider.TYPE_REFRESH, jti,
+                new Date(), new Date(System.currentTimeMillis() + 100000), null, null);
+    }
+
+    private static IssuedRefreshToken issuedRefresh(String token, String jti) {
+        return new IssuedRefreshToken(token, jti, Instant.now().plusSeconds(100));
+    }
+
     private static String sha256HexForTest(String value) throws Exception {
         var md = java.security.MessageDigest.getInstance("SHA-256");
         var digest = md.digest(value.getBytes(java.nio.charset.StandardCharsets.UTF_8));
@@ -204,7 +217,7 @@ class AuthServiceTest {
                 assertThrows(UnauthorizedActionException.class, () -> authService.login(req));
         assertEquals("Please verify your email before logging in.", ex.getMessage());
 
-        verify(refreshTokenRepository, never()).save(any());
+        verify(refreshTokenStore, never()).save(any());
     }
 
     @Test
@@ -225,7 +238,7 @@ class AuthServiceTest {
     }
 
     @Test
-    void login_Success_ReturnsAccessAndRefresh_AndSavesRefreshToken() {
+    void login_Success_ReturnsAccessAndRefresh_AndSavesRefreshToken() throws Exception {
         LoginRequest req = new LoginRequest();
         req.setUsername("user");
         req.setPassword("pass");
@@ -238,10 +251,8 @@ class AuthServiceTest {
         when(userRepository.findByUsername("user")).thenReturn(Optional.of(u));
         when(passwordEncoder.matches("pass", "ENC")).thenReturn(true);
 
-        when(jwtTokenProvider.generateAccessToken(5L)).thenReturn("ACCESS");
-        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn("REFRESH");
-        when(jwtTokenProvider.getJti("REFRESH")).thenReturn("jti-123");
-        when(jwtTokenProvider.getExpiration("REFRESH")).thenReturn(new Date(System.currentTimeMillis() + 100000));
+        when(jwtTokenProvider.generateAccessToken(u)).thenReturn("ACCESS");
+        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn(issuedRefresh("REFRESH", "jti-123"));
 
         Map<String, String> tokens = authService.login(req);
 
@@ -249,13 +260,68 @@ class AuthServiceTest {
         assertEquals("REFRESH", tokens.get("refreshToken"));
 
         ArgumentCaptor<RefreshToken> rtCaptor = ArgumentCaptor.forClass(RefreshToken.class);
-        verify(refreshTokenRepository).save(rtCaptor.capture());
+        verify(refreshTokenStore).save(rtCaptor.capture());
 
         RefreshToken saved = rtCaptor.getValue();
         assertEquals(5L, saved.getUserId());
         assertEquals("jti-123", saved.getJti());
-        assertNotNull(saved.getTokenHash());
+        assertEquals(sha256HexForTest("REFRESH"), saved.getTokenHash());
+        assertEquals("jti-123", saved.getFamilyId());
         assertNotNull(saved.getExpiresAt());
+        verify(userRepository, never()).save(any());
+        verify(jwtTokenProvider, never()).parse(any());
+    }
+
+    @Test
+    void login_RehashesPassword_WhenEncodingIsOutdated() {
+        LoginRequest req = new LoginRequest();
+        req.setUsername("user");
+        req.setPassword("pass");
+
+        User u = new User();
+        u.setId(5L);
+        u.setVerified(true);
+        u.setPassword("OLD");
+
+        when(userRepository.findByUsername("user")).thenReturn(Optional.of(u));
+        when(passwordEncoder.matches("pass", "OLD")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("OLD")).thenReturn(true);
+        when(passwordEncoder.encode("pass")).thenReturn("NEW");
+        when(jwtTokenProvider.generateAccessToken(u)).thenReturn("ACCESS");
+        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn(issuedRefresh("REFRESH", "jti-123"));
+
+        authService.login(req);
+
+        assertEquals("NEW", u.getPassword());
+        verify(userRepository).save(u);
+    }
+
+    @Test
+    void login_ChecksPasswordOutsideTransaction_AndWritesInsideOne() {
+        LoginRequest req = new LoginRequest();
+        req.setUsername("user");
+        req.setPassword("pass");
+
+        User u = new User();
+        u.setId(5L);
+        u.setVerified(true);
+        u.setPassword("ENC");
+
+        when(userRepository.findByUsername("user")).thenAnswer(inv -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(u);
+        });
+        when(passwordEncoder.matches("pass", "ENC")).thenReturn(true);
+        when(jwtTokenProvider.generateAccessToken(u)).thenReturn("ACCESS");
+        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn(issuedRefresh("REFRESH", "jti-123"));
+        doAnswer(inv -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            return null;
+        }).when(refreshTokenStore).save(any(RefreshToken.class));
+
+        authService.login(req);
+
+        verify(refreshTokenStore).save(any(RefreshToken.class));
     }
 
     @Test
@@ -284,10 +350,8 @@ class AuthServiceTest {
         when(userRepository.findByUsername("user")).thenReturn(Optional.of(u));
         when(passwordEncoder.matches("pass", "ENC")).thenReturn(true);
 
-        when(jwtTokenProvider.generateAccessToken(5L)).thenReturn("ACCESS");
-        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn("REFRESH");
-        when(jwtTokenProvider.getJti("REFRESH")).thenReturn("jti-123");
-        when(jwtTokenProvider.getExpiration("REFRESH")).thenReturn(new Date(System.currentTimeMillis() + 100000));
+        when(jwtTokenProvider.generateAccessToken(u)).thenReturn("ACCESS");
+        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn(issuedRefresh("REFRESH", "jti-123"));
 
         Map<String, String> tokens = authService.login(req);
 
@@ -304,31 +368,38 @@ class AuthServiceTest {
         long userId = 5L;
         String oldJti = "jti-old";
 
-        when(jwtTokenProvider.validateToken(incoming)).thenReturn(true);
-        when(jwtTokenProvider.getTokenType(incoming)).thenReturn("refresh");
-        when(jwtTokenProvider.getUserIdFromToken(incoming)).thenReturn(userId);
-        when(jwtTokenProvider.getJti(incoming)).thenReturn(oldJti);
+        when(jwtTokenProvider.parse(incoming)).thenReturn(parsedRefresh(userId, oldJti));
 
         String hash = sha256HexForTest(incoming);
         RefreshToken stored = storedRt(userId, oldJti, false, Instant.now().plusSeconds(3600), hash);
-        when(refreshTokenRepository.findByJti(oldJti)).thenReturn(Optional.of(stored));
+        when(refreshTokenStore.findByJti(oldJti)).thenReturn(Optional.of(stored));
 
-        when(jwtTokenProvider.generateAccessToken(userId)).thenReturn("NEW_ACCESS");
-        when(jwtTokenProvider.generateRefreshToken(userId)).thenReturn("NEW_REFRESH");
-        when(jwtTokenProvider.getJti("NEW_REFRESH")).thenReturn("jti-new");
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("user");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
-        when(jwtTokenProvider.getExpiration(anyString()))
-                .thenReturn(new Date(System.currentTimeMillis() + 100000));
+        when(jwtTokenProvider.generateAccessToken(user)).thenReturn("NEW_ACCESS");
+        when(jwtTokenProvider.generateRefreshToken(userId)).thenReturn(issuedRefresh("NEW_REFRESH", "jti-new"));
+        when(refreshTokenStore.rotate(eq(oldJti), any(RefreshToken.class))).thenReturn(true);
 
         Map<String, String> out = authService.refresh(incoming);
 
         assertEquals("NEW_ACCESS", out.get("accessToken"));
         assertEquals("NEW_REFRESH", out.get("refreshToken"));
 
-        assertNotNull(stored.getRevokedAt());
-        assertEquals("jti-new", stored.getReplacedByJti());
+        ArgumentCaptor<RefreshToken> rtCaptor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenStore).rotate(eq(oldJti), rtCaptor.capture());
+        verify(refreshTokenStore, never()).save(any());
+
+        RefreshToken replacement = rtCaptor.getValue();
+        assertEquals("jti-new", replacement.getJti());
+        assertEquals(sha256HexForTest("NEW_REFRESH"), replacement.getTokenHash());
+        assertEquals("family-1", replacement.getFamilyId());
 
-        verify(refreshTokenRepository, times(2)).save(any(RefreshToken.class));
+        // only the incoming token is parsed; the new one's jti and expiry come from issuing it
+        verify(jwtTokenProvider).parse(incoming);
+        verify(jwtTokenProvider, never()).parse("NEW_REFRESH");
     }
 
     @Test
@@ -340,12 +411,12 @@ class AuthServiceTest {
         assertEquals("Refresh token is required", ex.getMessage());
 
         verifyNoInteractions(jwtTokenProvider);
-        verifyNoInteractions(refreshTokenRepository);
+        verifyNoInteractions(refreshTokenStore);
     }
 
     @Test
     void refresh_Fails_WhenJwtInvalid() {
-        when(jwtTokenProvider.validateToken("BAD")).thenReturn(false);
+        when(jwtTokenProvider.parse("BAD")).thenReturn(ParsedToken.INVALID);
 
         UnauthorizedActionException ex = assertThrows(
                 UnauthorizedActionException.class,
@@ -353,18 +424,15 @@ class AuthServiceTest {
         );
         assertEquals("Invalid refresh token", ex.getMessage());
 
-        verify(jwtTokenProvider).validateToken("BAD");
-        verifyNoInteractions(refreshTokenRepository);
+        verify(jwtTokenProvider).parse("BAD");
+        verifyNoInteractions(refreshTokenStore);
     }
 
     @Test
     void refresh_Fails_WhenNotRecognizedInDb() {
-        when(jwtTokenProvider.validateToken("R")).thenReturn(true);
-        when(jwtTokenProvider.getTokenType("R")).thenReturn("refresh");
-        when(jwtTokenProvider.getUserIdFromToken("R")).thenReturn(5L);
-        when(jwtTokenProvider.getJti("R")).thenReturn("jti-old");
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
 
-        when(refreshTokenRepository.findByJti("jti-old")).thenReturn(Optional.empty());
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.empty());
 
         UnauthorizedActionException ex = assertThrows(
                 UnauthorizedActionException.class,
@@ -375,10 +443,7 @@ class AuthServiceTest {
 
     @Test
     void refresh_Fails_WhenHashMismatch() {
-        when(jwtTokenProvider.validateToken("R")).thenReturn(true);
-        when(jwtTokenProvider.getTokenType("R")).thenReturn("refresh");
-        when(jwtTokenProvider.getUserIdFromToken("R")).thenReturn(5L);
-        when(jwtTokenProvider.getJti("R")).thenReturn("jti-old");
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
 
         // stored hash doesn't match what service will compute for R
         RefreshToken stored = storedRt(
@@ -388,7 +453,7 @@ class AuthServiceTest {
                 Instant.now().plusSeconds(3600),
                 "some-other-hash"
         );
-        when(refreshTokenRepository.findByJti("jti-old")).thenReturn(Optional.of(stored));
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.of(stored));
 
         UnauthorizedActionException ex = assertThrows(
                 UnauthorizedActionException.class,
@@ -399,32 +464,67 @@ class AuthServiceTest {
 
     @Test
     void refresh_Fails_WhenStoredRevoked() throws Exception {
-        when(jwtTokenProvider.validateToken("R")).thenReturn(true);
-        when(jwtTokenProvider.getTokenType("R")).thenReturn("refresh");
-        when(jwtTokenProvider.getUserIdFromToken("R")).thenReturn(5L);
-        when(jwtTokenProvider.getJti("R")).thenReturn("jti-old");
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
 
         String hash = sha256HexForTest("R");
         RefreshToken stored = storedRt(5L, "jti-old", true, Instant.now().plusSeconds(3600), hash);
-        when(refreshTokenRepository.findByJti("jti-old")).thenReturn(Optional.of(stored));
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.of(stored));
+
+        UnauthorizedActionException ex = assertThrows(
+                UnauthorizedActionException.class,
+                () -> authService.refresh("R")
+        );
+        assertEquals("Refresh token revoked or expired", ex.getMessage());
+    }
+
+    @Test
+    void refresh_RevokesFamily_WhenRotatedTokenReplayed() throws Exception {
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
+
+        String hash = sha256HexForTest("R");
+        RefreshToken stored = storedRt(5L, "jti-old", true, Instant.now().plusSeconds(3600), hash);
+        stored.setReplacedByJti("jti-next");
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.of(stored));
+
+        UnauthorizedActionException ex = assertThrows(
+                UnauthorizedActionException.class,
+                () -> authService.refresh("R")
+        );
+        assertEquals("Refresh token reuse detected", ex.getMessage());
+
+        verify(refreshTokenStore).revokeFamily("family-1");
+        verify(refreshTokenStore, never()).rotate(any(), any());
+    }
+
+    @Test
+    void refresh_Fails_WhenConcurrentRotationWon() throws Exception {
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
+
+        String hash = sha256HexForTest("R");
+        RefreshToken stored = storedRt(5L, "jti-old", false, Instant.now().plusSeconds(3600), hash);
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.of(stored));
+
+        User user = new User();
+        user.setId(5L);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateRefreshToken(5L)).thenReturn(issuedRefresh("NEW_REFRESH", "jti-new"));
+        when(refreshTokenStore.rotate(eq("jti-old"), any(RefreshToken.class))).thenReturn(false);
 
         UnauthorizedActionException ex = assertThrows(
                 UnauthorizedActionException.class,
                 () -> authService.refresh("R")
         );
         assertEquals("Refresh token revoked or expired", ex.getMessage());
+        verify(refreshTokenStore, never()).revokeFamily(any());
     }
 
     @Test
     void refresh_Fails_WhenStoredExpired() throws Exception {
-        when(jwtTokenProvider.validateToken("R")).thenReturn(true);
-        when(jwtTokenProvider.getTokenType("R")).thenReturn("refresh");
-        when(jwtTokenProvider.getUserIdFromToken("R")).thenReturn(5L);
-        when(jwtTokenProvider.getJti("R")).thenReturn("jti-old");
+        when(jwtTokenProvider.parse("R")).thenReturn(parsedRefresh(5L, "jti-old"));
 
         String hash = sha256HexForTest("R");
         RefreshToken stored = storedRt(5L, "jti-old", false, Instant.now().minusSeconds(1), hash);
-        when(refreshTokenRepository.findByJti("jti-old")).thenReturn(Optional.of(stored));
+        when(refreshTokenStore.findByJti("jti-old")).thenReturn(Optional.of(stored));
 
         UnauthorizedActionException ex = assertThrows(
                 UnauthorizedActionException.class,
@@ -0,0 +1,67 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import task_manager_api.model.User;
+import task_manager_api.repository.UserRepository;
+import task_manager_api.service.auth.CustomUserDetailsService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomUserDetailsService service =
+            new CustomUserDetailsService(userRepository, meterRegistry, 100, 60);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("user");
+        user.setPassword("ENC");
+        user.setVerified(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void loadUserById_HitsRepositoryOnce_ForRepeatedLookups() {
+        service.loadUserById(1L);
+        service.loadUserById(1L);
+        service.loadUserById(1L);
+
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "userPrincipals")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void evictUser_ForcesReload_WithFreshFlags() {
+        assertFalse(service.loadUserById(1L).isEnabled());
+
+        user.setVerified(true);
+        service.evictUser(1L);
+        UserDetails reloaded = service.loadUserById(1L);
+
+        assertTrue(reloaded.isEnabled());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void loadUserById_Throws_AndCachesNothing_WhenUserMissing() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserById(2L));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserById(2L));
+        verify(userRepository, times(2)).findById(2L);
+    }
+}
@@ -0,0 +1,130 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import task_manager_api.model.EmailOutbox;
+import task_manager_api.model.EmailOutboxStatus;
+import task_manager_api.repository.EmailOutboxRepository;
+import task_manager_api.service.notification.EmailOutboxDispatcher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock private EmailOutboxRepository outboxRepository;
+    @Mock private JavaMailSender mailSender;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, transactionManager, meterRegistry,
+                "noreply@test.com", 1, 10, 3, 1000, 4000, 60000, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        meterRegistry.close();
+    }
+
+    private EmailOutbox email(long id, String recipient, int attempts) {
+        EmailOutbox email = new EmailOutbox(recipient, "Subject", "Body");
+        email.setId(id);
+        email.setAttempts(attempts);
+        return email;
+    }
+
+    private void due(List<EmailOutbox> batch) {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10))).thenReturn(batch);
+        lenient().when(outboxRepository.findAllById(batch.stream().map(EmailOutbox::getId).toList())).thenReturn(batch);
+    }
+
+    private double deliveries(String result) {
+        return meterRegistry.get("app.email_outbox.deliveries").tag("result", result).counter().count();
+    }
+
+    @Test
+    void sendBatch_SendsAllOverOneCall_AndMarksThemSent() {
+        EmailOutbox first = email(1, "a@test.com", 0);
+        EmailOutbox second = email(2, "b@test.com", 0);
+        due(List.of(first, second));
+        List<SimpleMailMessage[]> calls = new ArrayList<>();
+        doAnswer(inv -> calls.add((SimpleMailMessage[]) inv.getRawArguments()[0]))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        assertEquals(2, dispatcher.sendBatch());
+
+        assertEquals(1, calls.size());
+        assertEquals(2, calls.get(0).length);
+        assertEquals("noreply@test.com", calls.get(0)[0].getFrom());
+        assertEquals(EmailOutboxStatus.SENT, first.getStatus());
+        assertEquals(EmailOutboxStatus.SENT, second.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertEquals(2, deliveries("sent"));
+    }
+
+    @Test
+    void sendBatch_PartialFailure_RetriesOnlyTheFailedEmailWithBackoff() {
+        EmailOutbox ok = email(1, "a@test.com", 0);
+        EmailOutbox bad = email(2, "b@test.com", 1);
+        due(List.of(ok, bad));
+        doAnswer(inv -> {
+            SimpleMailMessage[] sent = (SimpleMailMessage[]) inv.getRawArguments()[0];
+            throw new MailSendException(Map.of(sent[1], new RuntimeException("mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        Instant before = Instant.now();
+        dispatcher.sendBatch();
+
+        assertEquals(EmailOutboxStatus.SENT, ok.getStatus());
+        assertEquals(EmailOutboxStatus.PENDING, bad.getStatus());
+        assertEquals("mailbox unavailable", bad.getLastError());
+        // Second attempt: twice the initial backoff
+        assertFalse(bad.getNextAttemptAt().isBefore(before.plus(Duration.ofMillis(2000))));
+        assertTrue(bad.getNextAttemptAt().isBefore(before.plus(Duration.ofMillis(60000))));
+        assertEquals(1, deliveries("retried"));
+    }
+
+    @Test
+    void sendBatch_ConnectionFailure_OnLastAttempt_MarksFailed() {
+        EmailOutbox email = email(1, "a@test.com", 2);
+        due(List.of(email));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        dispatcher.sendBatch();
+
+        assertEquals(3, email.getAttempts());
+        assertEquals(EmailOutboxStatus.FAILED, email.getStatus());
+        assertEquals("Connection refused", email.getLastError());
+        assertEquals(1, deliveries("failed"));
+    }
+
+    @Test
+    void sendBatch_NothingDue_DoesNotTouchSmtp() {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10))).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.sendBatch());
+        verifyNoInteractions(mailSender);
+    }
+}
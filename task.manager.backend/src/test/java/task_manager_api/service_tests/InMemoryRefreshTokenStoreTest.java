@@ -0,0 +1,318 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import task_manager_api.model.RefreshToken;
+import task_manager_api.repository.RefreshTokenRepository;
+import task_manager_api.service.auth.InMemoryRefreshTokenStore;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryRefreshTokenStoreTest {
+
+    @Mock private RefreshTokenRepository refreshTokenRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore(refreshTokenRepository, transactionManager, meterRegistry, 1000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Runs the callbacks registered since initSynchronization() as a transaction ending with this status
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) synchronization.afterCommit();
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static RefreshToken token(String jti) {
+        RefreshToken rt = new RefreshToken();
+        rt.setUserId(5L);
+        rt.setJti(jti);
+        rt.setTokenHash("hash-" + jti);
+        rt.setFamilyId("family-1");
+        rt.setExpiresAt(Instant.now().plusSeconds(3600));
+        return rt;
+    }
+
+    @Test
+    void saveThenFind_ServedFromMemory() {
+        store.save(token("a"));
+
+        RefreshToken found = store.findByJti("a").orElseThrow();
+        assertEquals("hash-a", found.getTokenHash());
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void rotate_RevokesOldStoresReplacement_AndSecondRotationLoses() {
+        store.save(token("a"));
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+
+        assertTrue(store.rotate("a", token("b")));
+        assertFalse(store.rotate("a", token("c")));
+
+        RefreshToken old = store.findByJti("a").orElseThrow();
+        assertTrue(old.isRevoked());
+        assertEquals("b", old.getReplacedByJti());
+        assertTrue(store.findByJti("b").isPresent());
+        assertFalse(store.findByJti("c").isPresent());
+    }
+
+    @Test
+    void rotate_WritesRevocationThrough_InsertingAnUnflushedTokenFirstInCallersTransaction() {
+        store.save(token("a"));
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+
+        assertTrue(store.rotate("a", token("b")));
+
+        InOrder order = inOrder(refreshTokenRepository);
+        order.verify(refreshTokenRepository).save(argThat(row -> row.getJti().equals("a")));
+        order.verify(refreshTokenRepository).revokeIfActive(eq("a"), any(Instant.class), eq("b"));
+        // No second transaction, so a request never needs a second connection
+        verifyNoInteractions(transactionManager);
+
+        // Only the replacement's insert is left for the flush
+        when(refreshTokenRepository.findAllByJtiIn(anyCollection())).thenReturn(List.of());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RefreshToken>> inserts = ArgumentCaptor.forClass(List.class);
+        store.flush();
+        verify(refreshTokenRepository).saveAll(inserts.capture());
+        assertEquals(List.of("b"), inserts.getValue().stream().map(RefreshToken::getJti).toList());
+    }
+
+    @Test
+    void rotate_Fails_WhenTableAlreadyRevokedTheToken() {
+        when(refreshTokenRepository.findByJti("a")).thenReturn(Optional.of(token("a")));
+
+        assertFalse(store.rotate("a", token("b")));
+        assertFalse(store.findByJti("b").isPresent());
+        // The stale copy was dropped, so the next read goes back to the table
+        store.findByJti("a");
+        verify(refreshTokenRepository, times(2)).findByJti("a");
+    }
+
+    @Test
+    void rotate_ConcurrentCallersOnSameToken_ExactlyOneWins() throws Exception {
+        store.save(token("a"));
+        AtomicBoolean rowRevoked = new AtomicBoolean();
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), anyString()))
+                .thenAnswer(inv -> rowRevoked.compareAndSet(false, true) ? 1 : 0);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < callers; i++) {
+            String next = "next-" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return store.rotate("a", token(next));
+            }));
+        }
+        start.countDown();
+
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) winners++;
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners);
+    }
+
+    @Test
+    void revokeFamily_RevokesDatabaseRowsAndTokensInMemory() {
+        RefreshToken other = token("x");
+        other.setFamilyId("family-2");
+        store.save(token("a"));
+        store.save(other);
+
+        store.revokeFamily("family-1");
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(Instant.class));
+        assertTrue(store.findByJti("a").orElseThrow().isRevoked());
+        assertFalse(store.findByJti("x").orElseThrow().isRevoked());
+    }
+
+    @Test
+    void revokeFamily_ReachesReplacementsAndTokensLoadedFromTable_AndPendingInsertsCarryIt() {
+        RefreshToken flushed = token("old");
+        when(refreshTokenRepository.findByJti("old")).thenReturn(Optional.of(flushed));
+        when(refreshTokenRepository.revokeIfActive(eq("old"), any(Instant.class), eq("new"))).thenReturn(1);
+        assertTrue(store.rotate("old", token("new")));
+
+        store.revokeFamily("family-1");
+
+        assertTrue(store.findByJti("new").orElseThrow().isRevoked());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RefreshToken>> inserts = ArgumentCaptor.forClass(List.class);
+        store.flush();
+        verify(refreshTokenRepository).saveAll(inserts.capture());
+        assertTrue(inserts.getValue().get(0).isRevoked());
+    }
+
+    @Test
+    void revokeAllForUser_RevokesOnlyThatUsersTokens() {
+        RefreshToken other = token("x");
+        other.setUserId(6L);
+        store.save(token("a"));
+        store.save(other);
+
+        store.revokeAllForUser(5L);
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(5L), any(Instant.class));
+        assertTrue(store.findByJti("a").orElseThrow().isRevoked());
+        assertFalse(store.findByJti("x").orElseThrow().isRevoked());
+    }
+
+    @Test
+    void rotate_RolledBack_LeavesOldTokenActive_AndHandsItsInsertBackToTheFlush() {
+        store.save(token("a"));
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(store.rotate("a", token("b")));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(store.findByJti("a").orElseThrow().isRevoked());
+        assertFalse(store.findByJti("b").isPresent());
+
+        // The rotation's insert of "a" was rolled back, so the flush inserts it; "b" was never issued
+        when(refreshTokenRepository.findAllByJtiIn(anyCollection())).thenReturn(List.of());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RefreshToken>> inserts = ArgumentCaptor.forClass(List.class);
+        store.flush();
+        verify(refreshTokenRepository).saveAll(inserts.capture());
+        assertEquals(List.of("a"), inserts.getValue().stream().map(RefreshToken::getJti).toList());
+    }
+
+    @Test
+    void rotate_AppliesInMemoryChangesOnlyAfterCommit() {
+        store.save(token("a"));
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(store.rotate("a", token("b")));
+        assertFalse(store.findByJti("a").orElseThrow().isRevoked());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(store.findByJti("a").orElseThrow().isRevoked());
+        assertTrue(store.findByJti("b").isPresent());
+    }
+
+    @Test
+    void revokeAllForUser_RolledBack_LeavesTokensActiveInMemory() {
+        store.save(token("a"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        store.revokeAllForUser(5L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(5L), any(Instant.class));
+        assertFalse(store.findByJti("a").orElseThrow().isRevoked());
+    }
+
+    @Test
+    void revokeFamily_ReachesTokenSavedByTransactionThatCommitsLater() {
+        TransactionSynchronizationManager.initSynchronization();
+        store.save(token("a"));
+        List<TransactionSynchronization> login = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        store.revokeFamily("family-1");
+        login.forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(store.findByJti("a").orElseThrow().isRevoked());
+    }
+
+    @Test
+    void flush_NeverClearsRevocationMadeByBulkUpdate() {
+        RefreshToken row = token("a");
+        row.setRevokedAt(Instant.now());
+        store.save(token("a"));
+        when(refreshTokenRepository.findAllByJtiIn(anyCollection())).thenReturn(List.of(row));
+
+        store.flush();
+
+        assertNotNull(row.getRevokedAt());
+    }
+
+    @Test
+    void findByJti_FallsBackToDatabase_WhenNotInMemory() {
+        when(refreshTokenRepository.findByJti("old")).thenReturn(Optional.of(token("old")));
+
+        assertTrue(store.findByJti("old").isPresent());
+        assertTrue(store.findByJti("old").isPresent());
+
+        verify(refreshTokenRepository, times(1)).findByJti("old");
+    }
+
+    @Test
+    void flush_InsertsNewTokens_AndClearsPending() {
+        when(refreshTokenRepository.findByJti("a")).thenReturn(Optional.of(token("a")));
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+
+        assertTrue(store.rotate("a", token("b")));
+        store.save(token("c"));
+        store.save(token("d"));
+
+        assertEquals(3, store.flush());
+        assertEquals(0, store.flush());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RefreshToken>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository, times(2)).saveAll(inserts.capture());
+        List<String> inserted = inserts.getAllValues().stream().flatMap(List::stream).map(RefreshToken::getJti).toList();
+        assertEquals(3, inserted.size());
+        assertTrue(inserted.containsAll(List.of("b", "c", "d")));
+        assertEquals(3, meterRegistry.get("app.refresh_tokens.write_behind.flushed").counter().count());
+    }
+
+    @Test
+    void flush_KeepsPendingChanges_WhenWriteFails() {
+        store.save(token("a"));
+        when(refreshTokenRepository.findAllByJtiIn(anyCollection())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> store.flush());
+        assertEquals(1, meterRegistry.get("app.refresh_tokens.write_behind.pending").gauge().value());
+
+        // The failed flush handed its insert back, so a rotation still gives the row its insert
+        when(refreshTokenRepository.revokeIfActive(eq("a"), any(Instant.class), eq("b"))).thenReturn(1);
+        assertTrue(store.rotate("a", token("b")));
+        verify(refreshTokenRepository).save(argThat(row -> row.getJti().equals("a")));
+    }
+}
@@ -0,0 +1,84 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import task_manager_api.exceptions.TooManyRequestsException;
+import task_manager_api.service.auth.PasswordVerifier;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordVerifierTest {
+
+    @Mock private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void matches_RunsOnVerificationPool() {
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, meterRegistry, 1, 4, 5000);
+        when(passwordEncoder.matches("pass", "ENC")).thenAnswer(inv ->
+                Thread.currentThread().getName().startsWith("password-verify-"));
+
+        assertTrue(verifier.matches("pass", "ENC"));
+        assertEquals(1, meterRegistry.get("app.password_verification.queue.wait").timer().count());
+    }
+
+    @Test
+    void encode_RunsOnVerificationPool() {
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, meterRegistry, 1, 4, 5000);
+        when(passwordEncoder.encode("pass")).thenAnswer(inv -> Thread.currentThread().getName());
+
+        assertTrue(verifier.encode("pass").startsWith("password-verify-"));
+    }
+
+    @Test
+    void matches_ShedsLoad_WhenPoolAndQueueAreFull() throws Exception {
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, meterRegistry, 1, 0, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches("slow", "ENC")).thenAnswer(inv -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<Boolean> first = caller.submit(() -> verifier.matches("slow", "ENC"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TooManyRequestsException.class, () -> verifier.matches("other", "ENC"));
+        assertEquals(1, meterRegistry.get("app.password_verification.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        caller.shutdown();
+    }
+
+    @Test
+    void matches_CountsTimeoutApartFromRejections() throws Exception {
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, meterRegistry, 1, 4, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        when(passwordEncoder.matches("slow", "ENC")).thenAnswer(inv -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } finally {
+                finished.countDown();
+            }
+        });
+
+        assertThrows(TooManyRequestsException.class, () -> verifier.matches("slow", "ENC"));
+        assertEquals(1, meterRegistry.get("app.password_verification.timeouts").counter().count());
+        assertEquals(0, meterRegistry.get("app.password_verification.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+}
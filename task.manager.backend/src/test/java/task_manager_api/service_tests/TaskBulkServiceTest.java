@@ -0,0 +1,179 @@
+package task_manager_api.service_tests;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task_manager_api.DTO.task.*;
+import task_manager_api.exceptions.BadRequestException;
+import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.model.*;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.task.TaskBulkService;
+import task_manager_api.service.task.TaskItemValidator;
+import task_manager_api.service.task.TaskStatusCounterService;
+import task_manager_api.service.task.TaskTitleIndex;
+import task_manager_api.service.team.TeamAccessAuthService;
+import task_manager_api.service.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBulkServiceTest {
+
+    @Mock private TasksRepository tasksRepository;
+    @Mock private UserService userService;
+    @Mock private TeamAccessAuthService teamAccessAuthService;
+    @Mock private TaskStatusCounterService taskStatusCounterService;
+    @Mock private TaskTitleIndex taskTitleIndex;
+    @Mock private EntityManager entityManager;
+
+    private TaskBulkService bulkService;
+    private User user;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new TaskBulkService(tasksRepository, userService, teamAccessAuthService, taskStatusCounterService,
+                taskTitleIndex, entityManager,
+                new TaskItemValidator(Validation.buildDefaultValidatorFactory().getValidator(), teamAccessAuthService), 100, 2);
+
+        user = new User();
+        user.setId(1L);
+        team = new Team();
+        team.setId(7L);
+
+        lenient().when(userService.getLoggedUserReference()).thenReturn(user);
+        lenient().when(taskStatusCounterService.batch()).thenReturn(new TaskStatusCounterService(null, null, 1).batch());
+    }
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2030, 1, 15, 9, 30);
+
+    private TaskCreateDTO createItem(String title, Long teamId) {
+        return TaskCreateDTO.builder().title(title).deadline(DEADLINE).teamId(teamId).build();
+    }
+
+    private Task task(int id, User owner, Team team) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("task-" + id);
+        task.setUser(owner);
+        task.setTeam(team);
+        return task;
+    }
+
+    @Test
+    void createTasks_ChecksEachTeamOnceAndReportsInvalidItems() {
+        AtomicInteger ids = new AtomicInteger();
+        List<Task> persisted = new ArrayList<>();
+        doAnswer(inv -> {
+            Task task = inv.getArgument(0);
+            task.setId(ids.incrementAndGet());
+            persisted.add(task);
+            return null;
+        }).when(entityManager).persist(any(Task.class));
+        when(teamAccessAuthService.requireTeam(7L)).thenReturn(team);
+
+        BulkTaskResultDTO result = bulkService.createTasks(List.of(
+                createItem("a", 7L),
+                createItem("", null),
+                createItem("b", 7L),
+                createItem("c", null),
+                createItem("d", 7L)
+        ));
+
+        assertEquals(4, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertEquals("title must not be blank", result.getItems().get(1).getError());
+        assertEquals(List.of(1, 2, 3, 4), result.getItems().stream()
+                .filter(BulkTaskItemResultDTO::isSuccess).map(BulkTaskItemResultDTO::getTaskId).toList());
+        assertEquals(List.of("a", "b", "c", "d"), persisted.stream().map(Task::getTitle).toList());
+        assertTrue(persisted.stream().allMatch(task -> DEADLINE.equals(task.getDeadline())));
+
+        verify(teamAccessAuthService, times(1)).requireTeam(7L);
+        verify(teamAccessAuthService, times(1)).requireMembership(team, user);
+        // chunk size 2: flushed after the 2nd and 4th created task
+        verify(entityManager, times(2)).flush();
+        verify(taskTitleIndex).tasksSaved(eq(1L), argThat(list -> list.size() == 4));
+    }
+
+    @Test
+    void createTasks_FailsItemsOfTeamsTheCallerIsNotIn() {
+        when(teamAccessAuthService.requireTeam(7L)).thenReturn(team);
+        when(teamAccessAuthService.requireMembership(team, user))
+                .thenThrow(new UnauthorizedActionException("You are not a member of this team"));
+
+        BulkTaskResultDTO result = bulkService.createTasks(List.of(createItem("a", 7L), createItem("b", 7L)));
+
+        assertEquals(0, result.getSucceeded());
+        assertTrue(result.getItems().stream().allMatch(i -> "You are not a member of this team".equals(i.getError())));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void createTasks_Propagates_WhenTeamLookupFailsUnexpectedly() {
+        when(teamAccessAuthService.requireTeam(7L)).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> bulkService.createTasks(List.of(createItem("a", 7L))));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void updateTasks_AppliesChangesAndBatchesStatusCounters() {
+        Task mine = task(1, user, team);
+        mine.setStatus(Status.PLANNED);
+        User other = new User();
+        other.setId(2L);
+        Task foreign = task(2, other, null);
+
+        when(tasksRepository.findAllById(List.of(1, 2))).thenReturn(List.of(mine, foreign));
+        when(tasksRepository.findAllById(List.of(3))).thenReturn(List.of());
+        when(teamAccessAuthService.isMember(team, user)).thenReturn(true);
+
+        TaskUpdateDTO changes = TaskUpdateDTO.builder().status(Status.COMPLETED).build();
+        BulkTaskResultDTO result = bulkService.updateTasks(List.of(
+                new TaskBulkUpdateDTO(1, changes),
+                new TaskBulkUpdateDTO(2, changes),
+                new TaskBulkUpdateDTO(3, changes)
+        ));
+
+        assertEquals(Status.COMPLETED, mine.getStatus());
+        assertNull(foreign.getStatus());
+        assertEquals(List.of(true, false, false), result.getItems().stream().map(BulkTaskItemResultDTO::isSuccess).toList());
+        assertEquals("Task not found", result.getItems().get(2).getError());
+        verify(taskStatusCounterService).apply(any(TaskStatusCounterService.Batch.class));
+    }
+
+    @Test
+    void deleteTasks_RemovesOwnedTasksOnce() {
+        Task mine = task(1, user, null);
+        when(tasksRepository.findAllById(List.of(1, 1))).thenReturn(List.of(mine));
+
+        BulkTaskResultDTO result = bulkService.deleteTasks(List.of(1, 1));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        verify(entityManager, times(1)).remove(mine);
+        verify(taskTitleIndex).tasksDeleted(1L, List.of(1));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThrows(BadRequestException.class, () -> bulkService.createTasks(List.of()));
+
+        List<Integer> tooMany = new ArrayList<>();
+        for (int i = 0; i < 101; i++) tooMany.add(i);
+        assertThrows(BadRequestException.class, () -> bulkService.deleteTasks(tooMany));
+    }
+}
@@ -0,0 +1,37 @@
+package task_manager_api.service_tests;
+
+import org.junit.jupiter.api.Test;
+import task_manager_api.DTO.task.TaskPageRowDTO;
+import task_manager_api.exceptions.BadRequestException;
+import task_manager_api.service.task.TaskCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+
+    @Test
+    void encodedCursor_DecodesToTheSamePosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 2, 12, 0, 0, 123_456_000);
+        TaskCursor cursor = TaskCursor.after(new TaskPageRowDTO(42, "title", null, null, createdAt));
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("42"));
+        assertEquals(new TaskCursor(createdAt, 42), TaskCursor.decode(encoded));
+    }
+
+    @Test
+    void malformedCursors_AreRejected() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-06-02T12:00".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().encodeToString("yesterday|7".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] {"7", "not base64!", "", noSeparator, badDate}) {
+            BadRequestException ex = assertThrows(BadRequestException.class, () -> TaskCursor.decode(cursor));
+            assertEquals("Invalid cursor", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package task_manager_api.service_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.model.Status;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskExportService;
+import task_manager_api.service.team.TeamAccessAuthService;
+import task_manager_api.service.user.UserService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    @Mock private TasksRepository tasksRepository;
+    @Mock private UserService userService;
+    @Mock private TeamAccessAuthService teamAccessAuthService;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TaskExportService exportService;
+    private User user;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new TaskExportService(tasksRepository, userService, teamAccessAuthService,
+                entityManager, objectMapper, transactionManager);
+
+        user = new User();
+        user.setId(1L);
+        team = new Team();
+        team.setId(7L);
+
+        lenient().when(userService.getLoggedUserReference()).thenReturn(user);
+    }
+
+    private Task task(int id, String title, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(Status.PLANNED);
+        task.setDateCreated(LocalDateTime.of(2025, 6, 1, 9, 0));
+        task.setUser(user);
+        return task;
+    }
+
+    private String export(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportUserTasks_WritesOneJsonLinePerTask_AndDetachesEach() throws Exception {
+        Task first = task(1, "First", null);
+        Task second = task(2, "Second", "notes");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(tasksRepository.streamByUser(user)).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        String[] lines = export(exportService.exportUserTasks(TaskExportFormat.NDJSON)).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1") && lines[0].contains("\"createdAt\":\"2025-06-01T09:00:00\""));
+        assertTrue(lines[1].contains("\"description\":\"notes\"") && lines[1].contains("\"userId\":1"));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportTeamTasks_WritesCsvWithHeader_AndQuotesSpecialCharacters() throws Exception {
+        Task task = task(3, "Fix \"login\", again", "line one\nline two");
+        task.setTeam(team);
+        when(teamAccessAuthService.requireTeam(7L)).thenReturn(team);
+        when(tasksRepository.streamByTeam(team)).thenReturn(Stream.of(task));
+
+        String csv = export(exportService.exportTeamTasks(7L, TaskExportFormat.CSV));
+
+        assertEquals("""
+                id,title,description,status,createdAt,deadline,userId,teamId
+                3,"Fix ""login"", again","line one
+                line two",PLANNED,2025-06-01T09:00,,1,7
+                """, csv);
+    }
+
+    @Test
+    void exportTeamTasks_NotMember_FailsBeforeStreaming() {
+        when(teamAccessAuthService.requireTeam(7L)).thenReturn(team);
+        when(teamAccessAuthService.requireMembership(team, user))
+                .thenThrow(new UnauthorizedActionException("You are not a member of this team"));
+
+        assertThrows(UnauthorizedActionException.class, () -> exportService.exportTeamTasks(7L, TaskExportFormat.CSV));
+        verifyNoInteractions(tasksRepository);
+    }
+
+    @Test
+    void formatFrom_IsCaseInsensitive() {
+        assertEquals(TaskExportFormat.CSV, TaskExportFormat.from("CSV"));
+        assertEquals(TaskExportFormat.NDJSON, TaskExportFormat.from("ndjson"));
+    }
+}
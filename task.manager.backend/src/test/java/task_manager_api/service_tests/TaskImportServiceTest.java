@@ -0,0 +1,197 @@
+package task_manager_api.service_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import task_manager_api.DTO.task.TaskImportResultDTO;
+import task_manager_api.exceptions.BadRequestException;
+import task_manager_api.exceptions.ResourceNotFoundException;
+import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.model.Task;
+import task_manager_api.model.Team;
+import task_manager_api.model.User;
+import task_manager_api.service.task.TaskExportFormat;
+import task_manager_api.service.task.TaskImportService;
+import task_manager_api.service.task.TaskItemValidator;
+import task_manager_api.service.task.TaskStatusCounterService;
+import task_manager_api.service.task.TaskTitleIndex;
+import task_manager_api.service.team.TeamAccessAuthService;
+import task_manager_api.service.user.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock private UserService userService;
+    @Mock private TeamAccessAuthService teamAccessAuthService;
+    @Mock private TaskStatusCounterService taskStatusCounterService;
+    @Mock private TaskTitleIndex taskTitleIndex;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TaskImportService importService;
+    private final List<Task> persisted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new TaskImportService(userService, taskStatusCounterService, taskTitleIndex, entityManager,
+                new TaskItemValidator(Validation.buildDefaultValidatorFactory().getValidator(), teamAccessAuthService),
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 2, 200, 10, 2);
+
+        User user = new User();
+        user.setId(1L);
+
+        lenient().when(userService.getLoggedUserReference()).thenReturn(user);
+        lenient().when(taskStatusCounterService.batch()).thenReturn(new TaskStatusCounterService(null, null, 1).batch());
+        lenient().doAnswer(inv -> persisted.add(inv.getArgument(0))).when(entityManager).persist(any(Task.class));
+    }
+
+    private TaskImportResultDTO importBody(TaskExportFormat format, String body) throws Exception {
+        return importService.importTasks(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importNdjson_CommitsInChunks_AndReportsInvalidRows() throws Exception {
+        TaskImportResultDTO result = importBody(TaskExportFormat.NDJSON, """
+                {"title":"A","deadline":"2030-01-01T00:00:00"}
+                {"title":"","deadline":"2030-01-01T00:00:00"}
+
+                {"title":"B","deadline":"2030-02-03T04:05:06"}
+                {"title":"C","deadline":"2030-01-01T00:00:00","status":"COMPLETED"}
+                not json
+                """);
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getChunksCommitted());
+        assertEquals(5, result.getLastCommittedRecord());
+        assertEquals(2, result.getErrors().get(0).getRecord());
+        assertEquals("title must not be blank", result.getErrors().get(0).getError());
+        assertTrue(result.getErrors().get(1).getError().startsWith("Malformed JSON"));
+        assertEquals(List.of("A", "B", "C"), persisted.stream().map(Task::getTitle).toList());
+        assertEquals(List.of(LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 2, 3, 4, 5, 6), LocalDateTime.of(2030, 1, 1, 0, 0)),
+                persisted.stream().map(Task::getDeadline).toList());
+        // status is not importable, so an exported status does not carry over
+        assertNull(persisted.get(2).getStatus());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importCsv_ReadsQuotedFields_AndChecksEachTeamOnce() throws Exception {
+        Team team = new Team();
+        team.setId(7L);
+        when(teamAccessAuthService.requireTeam(7L)).thenReturn(team);
+        Team otherTeam = new Team();
+        otherTeam.setId(8L);
+        when(teamAccessAuthService.requireTeam(8L)).thenReturn(otherTeam);
+        lenient().when(teamAccessAuthService.requireMembership(same(otherTeam), any()))
+                .thenThrow(new UnauthorizedActionException("You are not a member of this team"));
+
+        TaskImportResultDTO result = importBody(TaskExportFormat.CSV, """
+                id,title,description,status,deadline,teamId
+                1,"Fix ""login"", again","line one
+                line two",PLANNED,2030-01-01T00:00:00,7
+                2,Other,,,2030-01-01T00:00:00,8
+                3,Third,,,2030-01-01T00:00:00,8
+                4,Late,,,tomorrow,
+                """);
+
+        assertTrue(result.isCompleted());
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals("You are not a member of this team", result.getErrors().get(1).getError());
+        assertEquals("deadline must be an ISO date-time", result.getErrors().get(2).getError());
+        assertEquals("Fix \"login\", again", persisted.get(0).getTitle());
+        assertEquals("line one\nline two", persisted.get(0).getDescription());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 0, 0), persisted.get(0).getDeadline());
+        assertNull(persisted.get(0).getStatus());
+        verify(teamAccessAuthService, times(1)).requireTeam(8L);
+    }
+
+    @Test
+    void importNamingTooManyTeams_StopsAtTheCap() throws Exception {
+        when(teamAccessAuthService.requireTeam(anyLong())).thenThrow(new ResourceNotFoundException("Team not found"));
+
+        TaskImportResultDTO result = importBody(TaskExportFormat.NDJSON, """
+                {"title":"A","deadline":"2030-01-01T00:00:00","teamId":1}
+                {"title":"B","deadline":"2030-01-01T00:00:00","teamId":2}
+                {"title":"C","deadline":"2030-01-01T00:00:00","teamId":1}
+                {"title":"D","deadline":"2030-01-01T00:00:00","teamId":3}
+                """);
+
+        assertFalse(result.isCompleted());
+        assertEquals(3, result.getFailed());
+        assertEquals("Team not found", result.getErrors().get(0).getError());
+        assertEquals("An import may reference at most 2 teams", result.getAbortReason());
+        verify(teamAccessAuthService, times(2)).requireTeam(anyLong());
+    }
+
+    @Test
+    void teamLookupFailure_AbortsInsteadOfRejectingTheRow() throws Exception {
+        when(teamAccessAuthService.requireTeam(1L)).thenThrow(new IllegalStateException("connection lost"));
+
+        TaskImportResultDTO result = importBody(TaskExportFormat.NDJSON, """
+                {"title":"A","deadline":"2030-01-01T00:00:00","teamId":1}
+                """);
+
+        assertFalse(result.isCompleted());
+        assertEquals(0, result.getFailed());
+        assertEquals("connection lost", result.getAbortReason());
+    }
+
+    @Test
+    void importFailingMidFile_KeepsCommittedChunks() throws Exception {
+        doAnswer(inv -> {
+            if (persisted.size() == 2) throw new IllegalStateException("connection lost");
+            return persisted.add(inv.getArgument(0));
+        }).when(entityManager).persist(any(Task.class));
+
+        TaskImportResultDTO result = importBody(TaskExportFormat.NDJSON, """
+                {"title":"A","deadline":"2030-01-01T00:00:00"}
+                {"title":"B","deadline":"2030-01-01T00:00:00"}
+                {"title":"C","deadline":"2030-01-01T00:00:00"}
+                {"title":"D","deadline":"2030-01-01T00:00:00"}
+                {"title":"E","deadline":"2030-01-01T00:00:00"}
+                """);
+
+        assertFalse(result.isCompleted());
+        assertEquals("connection lost", result.getAbortReason());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getChunksCommitted());
+        assertEquals(2, result.getLastCommittedRecord());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void importOversizedRecord_StopsTheImport() throws Exception {
+        TaskImportResultDTO result = importBody(TaskExportFormat.NDJSON, "{\"title\":\"" + "x".repeat(300) + "\"}\n");
+
+        assertFalse(result.isCompleted());
+        assertEquals("Record is longer than 200 characters", result.getAbortReason());
+        assertEquals(0, result.getImported());
+    }
+
+    @Test
+    void importCsv_WithoutTitleColumn_Returns400() {
+        assertThrows(BadRequestException.class, () -> importBody(TaskExportFormat.CSV, "name,deadline\nA,2030-01-01T00:00:00\n"));
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,30 @@
+package task_manager_api.service_tests;
+
+import org.junit.jupiter.api.Test;
+import task_manager_api.service.task.TaskSearchQuery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchQueryTest {
+
+    @Test
+    void everyWordBecomesALowercasePrefixTerm() {
+        assertEquals("fix:* & login:* & bug2:*", TaskSearchQuery.toPrefixTsQuery("Fix  LOGIN bug2"));
+    }
+
+    @Test
+    void tsqueryOperatorsAreDropped() {
+        assertEquals("a:* & b:*", TaskSearchQuery.toPrefixTsQuery("a & !b:* | ("));
+    }
+
+    @Test
+    void accentedWordsAreKept() {
+        assertEquals("relatório:*", TaskSearchQuery.toPrefixTsQuery("relatório"));
+    }
+
+    @Test
+    void returnsNull_WhenThereAreNoWords() {
+        assertNull(TaskSearchQuery.toPrefixTsQuery("  -- "));
+        assertNull(TaskSearchQuery.toPrefixTsQuery(null));
+    }
+}
@@ -4,15 +4,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import task_manager_api.DTO.task.TaskCreateDTO;
+import task_manager_api.exceptions.BadRequestException;
 import task_manager_api.exceptions.ResourceNotFoundException;
 import task_manager_api.exceptions.UnauthorizedActionException;
 import task_manager_api.model.*;
 import task_manager_api.repository.TasksRepository;
 import task_manager_api.repository.TeamMembershipRepository;
 import task_manager_api.repository.TeamRepository;
+import task_manager_api.service.task.TaskCursor;
 import task_manager_api.service.task.TaskService;
+import task_manager_api.service.task.TaskStatusCounterService;
 import task_manager_api.service.team.TeamAccessAuthService;
 import task_manager_api.service.user.UserService;
 import task_manager_api.DTO.task.*;
@@ -48,6 +56,9 @@ public class TaskServiceTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private TaskStatusCounterService taskStatusCounterService;
+
     private Task task;
 
     private User user;
@@ -75,6 +86,14 @@ public class TaskServiceTest {
         task.setTeam(null);
     }
 
+    private static TaskSummaryDTO summary(Task task) {
+        return new TaskSummaryDTO(task.getId(), task.getTitle(), task.getStatus(), task.getDeadline());
+    }
+
+    private static TaskPageRowDTO pageRow(Task task) {
+        return new TaskPageRowDTO(task.getId(), task.getTitle(), task.getStatus(), task.getDeadline(), task.getDateCreated());
+    }
+
     @Test
     void createPersonalTaskSuccessfully() {
         TaskCreateDTO dto = new TaskCreateDTO();
@@ -88,6 +107,7 @@ public class TaskServiceTest {
         assertNotNull(response);
         assertEquals("Test Task Service", response.getTitle());
         verify(tasksRepository).save(any(Task.class));
+        verify(taskStatusCounterService).taskAdded(any(Task.class));
     }
 
     @Test
@@ -151,18 +171,13 @@ public class TaskServiceTest {
 
     @Test
     void getUserTasksSuccessfully() {
-        Task task1 = new Task();
-        task1.setId(1);
-        task1.setTitle("Test Task Title1");
-        task1.setUser(user);
-        Task task2 = new Task();
-        task2.setId(2);
-        task2.setTitle("Test Task Title2");
+        TaskSummaryDTO task1 = new TaskSummaryDTO(1, "Test Task Title1", null, null);
+        TaskSummaryDTO task2 = new TaskSummaryDTO(2, "Test Task Title2", null, null);
 
-        List<Task> taskList = List.of(task, task1, task2);
+        List<TaskSummaryDTO> taskList = List.of(summary(task), task1, task2);
 
-        when(userService.getLoggedUser()).thenReturn(user);
-        when(tasksRepository.findByUser(user)).thenReturn(taskList);
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findSummariesByUser(user)).thenReturn(taskList);
 
         List<TaskSummaryDTO> result = taskService.getUserTasks();
 
@@ -170,14 +185,73 @@ public class TaskServiceTest {
         assertEquals(3, result.size());
         assertEquals("Test Task Title1", result.get(1).getTitle());
 
-        verify(userService).getLoggedUser();
-        verify(tasksRepository).findByUser(user);
+        verify(userService).getLoggedUserReference();
+        verify(tasksRepository).findSummariesByUser(user);
 
     }
 
+    @Test
+    void getUserTasksPage_ReturnsSliceAndNextCursor() {
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findPageRowsByUser(eq(user), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(pageRow(task)), PageRequest.of(0, 1), true));
+
+        TaskPageDTO page = taskService.getUserTasksPage(0, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(task.getTitle(), page.getItems().get(0).getTitle());
+        assertEquals(0, page.getPage());
+        assertTrue(page.isHasNext());
+        assertEquals(new TaskCursor(task.getDateCreated(), task.getId()), TaskCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getUserTasksPage_ClampsPageSize() {
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findPageRowsByUser(eq(user), any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<TaskPageRowDTO>(List.of(), inv.getArgument(1), false));
+
+        TaskPageDTO page = taskService.getUserTasksPage(0, 10_000);
+
+        assertEquals(100, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUserTasksPage_Fails_WhenSizeInvalid() {
+        when(userService.getLoggedUserReference()).thenReturn(user);
+
+        assertThrows(BadRequestException.class, () -> taskService.getUserTasksPage(0, 0));
+        assertThrows(BadRequestException.class, () -> taskService.getUserTasksPage(-1, 10));
+    }
+
+    @Test
+    void getUserTasksAfter_SeeksFromTheCursorPosition_WhenCursorGiven() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 2, 12, 0);
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findPageRowsByUserAfter(eq(user), eq(createdAt), eq(1), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(pageRow(task)), PageRequest.of(0, 20), false));
+
+        TaskPageDTO page = taskService.getUserTasksAfter(new TaskCursor(createdAt, 1).encode(), 20);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getPage());
+        assertNull(page.getNextCursor());
+        verify(tasksRepository, never()).findPageRowsByUser(any(User.class), any(Pageable.class));
+    }
+
+    @Test
+    void getUserTasksAfter_Fails_WhenCursorIsMalformed() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> taskService.getUserTasksAfter("99", 20));
+
+        assertEquals("Invalid cursor", ex.getMessage());
+        verify(tasksRepository, never()).findPageRowsByUserAfter(any(), any(), any(), any());
+    }
+
     @Test
     void getTasksByIdSuccessfully() {
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.of(task));
 
         TaskResponseDTO result = taskService.getTaskById(task.getId());
@@ -188,7 +262,7 @@ public class TaskServiceTest {
 
     @Test
     void getTaskByIdFails_WhenTaskNotFound() {
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(
@@ -203,7 +277,7 @@ public class TaskServiceTest {
         TaskUpdateDTO dto = new TaskUpdateDTO();
         dto.setTitle("Updated Title");
 
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.of(task));
         when(tasksRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -214,11 +288,36 @@ public class TaskServiceTest {
         verify(tasksRepository).save(any(Task.class));
     }
 
+    @Test
+    void updateTask_PassesPreviousStatusToCounters() {
+        TaskUpdateDTO dto = new TaskUpdateDTO();
+        dto.setStatus(Status.COMPLETED);
+
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(tasksRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        taskService.updateTask(task.getId(), dto);
+
+        verify(taskStatusCounterService).statusChanged(task, Status.IN_PROGRESS);
+    }
+
+    @Test
+    void getUserTaskStats_ReadsUserCounters() {
+        TaskStatusCountsDTO counts = TaskStatusCountsDTO.builder().total(3).build();
+
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(taskStatusCounterService.countsFor(CounterScope.USER, 1L)).thenReturn(counts);
+
+        assertSame(counts, taskService.getUserTaskStats());
+        verify(tasksRepository, never()).findSummariesByUser(any(User.class));
+    }
+
     @Test
     void updateTaskFails_WhenTaskNotFound() {
         TaskUpdateDTO dto = new TaskUpdateDTO();
 
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(
@@ -230,8 +329,8 @@ public class TaskServiceTest {
 
     @Test
     void findByTitleSuccessfully() {
-        when(userService.getLoggedUser()).thenReturn(user);
-        when(tasksRepository.findByUserAndTitleContainingIgnoreCase(userService.getLoggedUser(), task.getTitle())).thenReturn(List.of(task));
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findSummariesByUserAndTitle(userService.getLoggedUserReference(), task.getTitle())).thenReturn(List.of(summary(task)));
 
         List<TaskSummaryDTO> result = taskService.findByTitle(task.getTitle());
 
@@ -240,10 +339,70 @@ public class TaskServiceTest {
         assertEquals("Test Task Service",  result.get(0).getTitle());
     }
 
+    @Test
+    void searchTasks_KeepsRankOrderAndDetectsNextPage() {
+        Task other = new Task();
+        other.setId(2);
+        other.setTitle("Other");
+
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.searchIdsByUser(1L, "test:* & serv:*", 3, 2L)).thenReturn(List.of(2, 1, 3));
+        when(tasksRepository.findSummariesByIds(List.of(2, 1))).thenReturn(List.of(summary(task), summary(other)));
+
+        TaskPageDTO page = taskService.searchTasks("Test serv", 1, 2);
+
+        assertEquals(List.of(2, 1), page.getItems().stream().map(TaskSummaryDTO::getId).toList());
+        assertEquals(1, page.getPage());
+        assertTrue(page.isHasNext());
+    }
+
+    @Test
+    void searchTasks_Fails_WhenQueryHasNoWords() {
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(" &!:* ", 0, 20));
+        verify(tasksRepository, never()).searchIdsByUser(any(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void queryTasks_PagesAndSortsWithIdTieBreaker() {
+        TaskQueryDTO query = new TaskQueryDTO();
+        query.setStatus(List.of(Status.IN_PROGRESS));
+        query.setSort("deadline");
+        query.setDirection("desc");
+        query.setSize(1);
+
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findSummaries(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(List.of(TaskSummaryDTO.builder().id(task.getId()).build()), inv.getArgument(1), true));
+
+        TaskPageDTO page = taskService.queryTasks(query);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasNext());
+        verify(tasksRepository).findSummaries(any(Specification.class), argThat((Pageable p) ->
+                p.getPageSize() == 1
+                        && p.getSort().equals(Sort.by(Sort.Direction.DESC, "deadline").and(Sort.by("id").ascending()))));
+    }
+
+    @Test
+    void queryTasks_Fails_WhenSortOrRangeInvalid() {
+        when(userService.getLoggedUserReference()).thenReturn(user);
+
+        TaskQueryDTO badSort = new TaskQueryDTO();
+        badSort.setSort("description");
+        assertThrows(BadRequestException.class, () -> taskService.queryTasks(badSort));
+
+        TaskQueryDTO badRange = new TaskQueryDTO();
+        badRange.setDeadlineFrom(LocalDateTime.now());
+        badRange.setDeadlineTo(LocalDateTime.now().minusDays(1));
+        assertThrows(BadRequestException.class, () -> taskService.queryTasks(badRange));
+
+        verify(tasksRepository, never()).findSummaries(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void findByStatusSuccessfully() {
-        when(userService.getLoggedUser()).thenReturn(user);
-        when(tasksRepository.findByUserAndStatus(userService.getLoggedUser(), task.getStatus())).thenReturn(List.of(task));
+        when(userService.getLoggedUserReference()).thenReturn(user);
+        when(tasksRepository.findSummariesByUserAndStatus(userService.getLoggedUserReference(), task.getStatus())).thenReturn(List.of(summary(task)));
 
         List<TaskSummaryDTO> result = taskService.findByStatus(task.getStatus());
         assertNotNull(result);
@@ -253,16 +412,17 @@ public class TaskServiceTest {
 
     @Test
     void deleteTaskSuccessfully() {
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.of(task));
 
         taskService.deleteTask(task.getId());
         verify(tasksRepository).delete(task);
+        verify(taskStatusCounterService).taskRemoved(task);
     }
 
     @Test
     void deleteTaskFails_WhenTaskNotFound() {
-        when(userService.getLoggedUser()).thenReturn(user);
+        when(userService.getLoggedUserReference()).thenReturn(user);
         when(tasksRepository.findById(task.getId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(
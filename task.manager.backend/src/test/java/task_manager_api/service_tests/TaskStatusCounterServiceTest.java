@@ -0,0 +1,169 @@
+package task_manager_api.service_tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
+import task_manager_api.model.*;
+import task_manager_api.repository.TaskStatusCounterRepository;
+import task_manager_api.service.task.TaskStatusCounterService;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCounterServiceTest {
+
+    @Mock private TaskStatusCounterRepository counterRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TaskStatusCounterService counterService;
+
+    private Task teamTask;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new TaskStatusCounterService(counterRepository, transactionManager, 2);
+
+        User user = new User();
+        user.setId(1L);
+
+        Team team = new Team();
+        team.setId(2L);
+
+        teamTask = new Task();
+        teamTask.setUser(user);
+        teamTask.setTeam(team);
+        teamTask.setStatus(Status.PLANNED);
+    }
+
+    @Test
+    void taskAdded_IncrementsUserAndTeamCounters() {
+        counterService.taskAdded(teamTask);
+
+        verify(counterRepository).addDelta("USER", 1L, "PLANNED", 1);
+        verify(counterRepository).addDelta("TEAM", 2L, "PLANNED", 1);
+    }
+
+    @Test
+    void taskRemoved_SkipsTeam_ForPersonalTask() {
+        teamTask.setTeam(null);
+
+        counterService.taskRemoved(teamTask);
+
+        verify(counterRepository).addDelta("USER", 1L, "PLANNED", -1);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void statusChanged_MovesCountBetweenStatuses() {
+        teamTask.setStatus(Status.COMPLETED);
+
+        counterService.statusChanged(teamTask, Status.PLANNED);
+
+        verify(counterRepository).addDelta("USER", 1L, "PLANNED", -1);
+        verify(counterRepository).addDelta("USER", 1L, "COMPLETED", 1);
+        verify(counterRepository).addDelta("TEAM", 2L, "PLANNED", -1);
+        verify(counterRepository).addDelta("TEAM", 2L, "COMPLETED", 1);
+    }
+
+    @Test
+    void teamRemoved_CountsTheTeamsTasksOffTheirOwners_AndDropsTheTeamsRows() {
+        counterService.teamRemoved(2L, List.of(
+                new TaskStatusCountRowDTO(1L, 2L, Status.PLANNED, 3L),
+                new TaskStatusCountRowDTO(1L, 2L, Status.COMPLETED, 1L),
+                new TaskStatusCountRowDTO(5L, 2L, Status.PLANNED, 2L),
+                new TaskStatusCountRowDTO(5L, 2L, null, 4L)));
+
+        InOrder inOrder = inOrder(counterRepository);
+        inOrder.verify(counterRepository).deleteByScope(CounterScope.TEAM, 2L);
+        inOrder.verify(counterRepository).addDelta("USER", 1L, "COMPLETED", -1);
+        inOrder.verify(counterRepository).addDelta("USER", 1L, "PLANNED", -3);
+        inOrder.verify(counterRepository).addDelta("USER", 5L, "PLANNED", -2);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void userRemoved_CountsTheUsersTasksOffTheirTeams_AndDropsTheUsersRows() {
+        counterService.userRemoved(1L, List.of(
+                new TaskStatusCountRowDTO(1L, 2L, Status.PLANNED, 3L),
+                new TaskStatusCountRowDTO(1L, null, Status.PLANNED, 2L)));
+
+        InOrder inOrder = inOrder(counterRepository);
+        inOrder.verify(counterRepository).addDelta("TEAM", 2L, "PLANNED", -3);
+        inOrder.verify(counterRepository).deleteByScope(CounterScope.USER, 1L);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void statusChanged_LocksRowsInTheSameOrder_WhicheverWayTheTaskMoves() {
+        teamTask.setStatus(Status.COMPLETED);
+        counterService.statusChanged(teamTask, Status.PLANNED);
+        teamTask.setStatus(Status.PLANNED);
+        counterService.statusChanged(teamTask, Status.COMPLETED);
+
+        InOrder inOrder = inOrder(counterRepository);
+        for (long delta : new long[]{1, -1}) {
+            inOrder.verify(counterRepository).addDelta("TEAM", 2L, "COMPLETED", delta);
+            inOrder.verify(counterRepository).addDelta("TEAM", 2L, "PLANNED", -delta);
+            inOrder.verify(counterRepository).addDelta("USER", 1L, "COMPLETED", delta);
+            inOrder.verify(counterRepository).addDelta("USER", 1L, "PLANNED", -delta);
+        }
+    }
+
+    @Test
+    void statusChanged_DoesNothing_WhenStatusUnchanged() {
+        counterService.statusChanged(teamTask, Status.PLANNED);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void tasksWithoutStatus_AreNotCounted() {
+        teamTask.setStatus(null);
+
+        counterService.taskAdded(teamTask);
+        counterService.statusChanged(teamTask, null);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void countsFor_ReportsZeroForMissingStatuses() {
+        TaskStatusCounter planned = new TaskStatusCounter();
+        planned.setId(new TaskStatusCounterId(CounterScope.USER, 1L, Status.PLANNED));
+        planned.setCount(3);
+        when(counterRepository.findByIdScopeTypeAndIdScopeId(CounterScope.USER, 1L)).thenReturn(List.of(planned));
+
+        TaskStatusCountsDTO counts = counterService.countsFor(CounterScope.USER, 1L);
+
+        assertEquals(3L, counts.getCounts().get(Status.PLANNED));
+        assertEquals(0L, counts.getCounts().get(Status.FAILED));
+        assertEquals(Status.values().length, counts.getCounts().size());
+        assertEquals(3, counts.getTotal());
+    }
+
+    @Test
+    void reconcile_WalksOwnersInBatches_EachInItsOwnTransaction() {
+        when(counterRepository.findUserIdsAfter(Long.MIN_VALUE, 2)).thenReturn(List.of(1L, 4L));
+        when(counterRepository.findUserIdsAfter(4L, 2)).thenReturn(List.of(7L));
+        when(counterRepository.findTeamIdsAfter(Long.MIN_VALUE, 2)).thenReturn(List.of());
+
+        counterService.reconcile();
+
+        verify(counterRepository).reconcileUserCounts(Long.MIN_VALUE, 4L);
+        verify(counterRepository).deleteStaleUserCounters(Long.MIN_VALUE, 4L);
+        verify(counterRepository).reconcileUserCounts(4L, Long.MAX_VALUE);
+        verify(counterRepository).deleteStaleUserCounters(4L, Long.MAX_VALUE);
+        verify(counterRepository).reconcileTeamCounts(Long.MIN_VALUE, Long.MAX_VALUE);
+        verify(counterRepository).deleteStaleTeamCounters(Long.MIN_VALUE, Long.MAX_VALUE);
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
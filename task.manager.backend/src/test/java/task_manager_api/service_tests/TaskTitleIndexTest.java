@@ -0,0 +1,113 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task_manager_api.DTO.task.TaskSummaryDTO;
+import task_manager_api.model.User;
+import task_manager_api.repository.TasksRepository;
+import task_manager_api.service.task.TaskTitleIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskTitleIndexTest {
+
+    private TasksRepository tasksRepository;
+    private TaskTitleIndex index;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tasksRepository = mock(TasksRepository.class);
+        index = new TaskTitleIndex(tasksRepository, new SimpleMeterRegistry(), 1_000_000, 30);
+
+        user = new User();
+        user.setId(1L);
+
+        when(tasksRepository.findSummariesByUser(user)).thenReturn(List.of(
+                summary(1, "Write quarterly report"),
+                summary(2, "Review report draft"),
+                summary(3, "Fix login bug")
+        ));
+    }
+
+    private static TaskSummaryDTO summary(int id, String title) {
+        return TaskSummaryDTO.builder().id(id).title(title).build();
+    }
+
+    private List<Integer> ids(List<TaskSummaryDTO> tasks) {
+        return tasks.stream().map(TaskSummaryDTO::getId).toList();
+    }
+
+    @Test
+    void search_BuildsIndexOnceAndMatchesPrefixes() {
+        assertEquals(List.of(1, 2), ids(index.search(user, "rep", 10)));
+        assertEquals(List.of(3), ids(index.search(user, "LOG", 10)));
+
+        verify(tasksRepository, times(1)).findSummariesByUser(user);
+    }
+
+    @Test
+    void search_RequiresEveryWordAndRespectsLimit() {
+        assertEquals(List.of(2), ids(index.search(user, "rev rep", 10)));
+        assertEquals(List.of(1), ids(index.search(user, "report", 1)));
+        assertTrue(index.search(user, "report bug", 10).isEmpty());
+        assertTrue(index.search(user, "  ", 10).isEmpty());
+    }
+
+    @Test
+    void taskSaved_UpdatesBuiltIndexIncrementally() {
+        index.search(user, "report", 10);
+
+        index.taskSaved(1L, summary(4, "Report to board"));
+        index.taskSaved(1L, summary(2, "Review slides"));
+
+        assertEquals(List.of(1, 4), ids(index.search(user, "report", 10)));
+        assertEquals(List.of(2), ids(index.search(user, "slid", 10)));
+        verify(tasksRepository, times(1)).findSummariesByUser(user);
+    }
+
+    @Test
+    void taskDeleted_RemovesTaskFromPostings() {
+        index.search(user, "report", 10);
+
+        index.taskDeleted(1L, 1);
+
+        assertEquals(List.of(2), ids(index.search(user, "report", 10)));
+        assertTrue(index.search(user, "quarterly", 10).isEmpty());
+    }
+
+    @Test
+    void updates_AreIgnoredUntilTheIndexIsBuilt() {
+        index.taskSaved(1L, summary(9, "Never indexed"));
+
+        assertTrue(index.search(user, "never", 10).isEmpty());
+    }
+
+    @Test
+    void search_HandlesManyTokensSharingAPrefix() {
+        List<TaskSummaryDTO> many = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            many.add(summary(i, "item" + i + " shared"));
+        }
+        when(tasksRepository.findSummariesByUser(user)).thenReturn(many);
+
+        assertEquals(111, index.search(user, "item1", 1000).size());
+        assertEquals(500, index.search(user, "item sha", 1000).size());
+    }
+
+    @Test
+    void invalidate_RebuildsIndexOnNextSearch() {
+        assertEquals(List.of(1, 2), ids(index.search(user, "rep", 10)));
+
+        when(tasksRepository.findSummariesByUser(user)).thenReturn(List.of(summary(1, "Write quarterly report")));
+        index.invalidate(List.of(1L));
+
+        assertEquals(List.of(1), ids(index.search(user, "rep", 10)));
+        verify(tasksRepository, times(2)).findSummariesByUser(user);
+    }
+}
@@ -1,5 +1,6 @@
 package task_manager_api.service_tests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -12,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
+import task_manager_api.DTO.task.TaskStatusCountsDTO;
 import task_manager_api.DTO.task.TaskSummaryDTO;
 import task_manager_api.DTO.team.TeamCreateDTO;
 import task_manager_api.DTO.team.TeamResponseDTO;
@@ -20,12 +23,16 @@ import task_manager_api.DTO.team.UserMemberDTO;
 import task_manager_api.exceptions.ConflictException;
 import task_manager_api.exceptions.ResourceNotFoundException;
 import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.mapper.TeamMapper;
 import task_manager_api.model.*;
 import task_manager_api.repository.TasksRepository;
 import task_manager_api.repository.TeamMembershipRepository;
 import task_manager_api.repository.TeamRepository;
 import task_manager_api.service.team.TeamAccessAuthService;
 import task_manager_api.service.team.TeamMembershipPolicy;
+import task_manager_api.service.task.TaskStatusCounterService;
+import task_manager_api.service.task.TaskTitleIndex;
+import task_manager_api.service.team.TeamResponseAssembler;
 import task_manager_api.service.team.TeamService;
 import task_manager_api.service.user.UserLookupService;
 import task_manager_api.service.user.UserService;
@@ -40,6 +47,9 @@ public class TeamServiceTest {
     @Mock private UserLookupService userLookupService;
     @Mock private TeamMembershipPolicy membershipPolicy;
     @Mock private TeamAccessAuthService teamAccessAuthService;
+    @Mock private TeamResponseAssembler teamResponseAssembler;
+    @Mock private TaskStatusCounterService taskStatusCounterService;
+    @Mock private TaskTitleIndex taskTitleIndex;
 
     @InjectMocks
     private TeamService teamService;
@@ -51,6 +61,11 @@ public class TeamServiceTest {
         // Mock logged-in user
         loggedUser = createUser(99L, "loggedUser");
         lenient().when(userService.getLoggedUser()).thenReturn(loggedUser);
+        lenient().when(userService.getLoggedUserReference()).thenReturn(loggedUser);
+
+        // Build responses from the in-memory team instead of the bulk queries
+        lenient().when(teamResponseAssembler.toResponseDTO(any(Team.class)))
+                .thenAnswer(inv -> TeamMapper.toResponseDTO(inv.getArgument(0, Team.class)));
     }
 
     private User createUser(long id, String username) {
@@ -131,11 +146,8 @@ public class TeamServiceTest {
         Team t1 = createTeam(1L, "team1");
         Team t2 = createTeam(2L, "team2");
 
-        when(teamMembershipRepository.findByUser(loggedUser))
-                .thenReturn(List.of(
-                        membership(t1, loggedUser, TeamRole.OWNER),
-                        membership(t2, loggedUser, TeamRole.MEMBER)
-                ));
+        when(teamResponseAssembler.toResponseDTOsForMember(loggedUser))
+                .thenReturn(List.of(TeamMapper.toResponseDTO(t1), TeamMapper.toResponseDTO(t2)));
 
         List<TeamResponseDTO> result = teamService.getAllTeamsForUser();
 
@@ -143,8 +155,9 @@ public class TeamServiceTest {
         List<String> names = result.stream().map(TeamResponseDTO::getTeamName).toList();
         assertTrue(names.containsAll(List.of("team1", "team2")));
 
-        verify(teamMembershipRepository).findByUser(loggedUser);
-        verifyNoInteractions(teamAccessAuthService, membershipPolicy, teamRepository, tasksRepository, userLookupService);
+        verify(teamResponseAssembler).toResponseDTOsForMember(loggedUser);
+        verifyNoInteractions(teamAccessAuthService, membershipPolicy, teamRepository, tasksRepository,
+                teamMembershipRepository, userLookupService);
     }
 
     // ----------------------------------------------------------------------
@@ -228,10 +241,43 @@ public class TeamServiceTest {
         Team t = givenTeamExists(1L);
         givenLoggedMembership(t, TeamRole.OWNER);
 
+        List<TaskStatusCountRowDTO> removedTasks = List.of(
+                new TaskStatusCountRowDTO(99L, 1L, Status.PLANNED, 2L),
+                new TaskStatusCountRowDTO(99L, 1L, Status.COMPLETED, 1L),
+                new TaskStatusCountRowDTO(7L, 1L, null, 1L),
+                new TaskStatusCountRowDTO(null, 1L, Status.PLANNED, 1L));
+        when(tasksRepository.countByStatusForTeam(t)).thenReturn(removedTasks);
+
         teamService.deleteTeam(1L);
 
         verify(teamMembershipRepository).deleteAllByTeam(t);
         verify(teamRepository).delete(t);
+        verify(taskStatusCounterService).teamRemoved(1L, removedTasks);
+        verify(taskTitleIndex).invalidate(List.of(99L, 7L));
+    }
+
+    @Test
+    void deleteTeam_DropsCascadedTasksFromTitleSuggestions() {
+        TaskTitleIndex realIndex = new TaskTitleIndex(tasksRepository, new SimpleMeterRegistry(), 1_000_000, 30);
+        TeamService service = new TeamService(teamRepository, tasksRepository, teamMembershipRepository, userService,
+                userLookupService, membershipPolicy, teamAccessAuthService, teamResponseAssembler,
+                taskStatusCounterService, realIndex);
+        Team t = givenTeamExists(1L);
+        givenLoggedMembership(t, TeamRole.OWNER);
+
+        TaskSummaryDTO personal = TaskSummaryDTO.builder().id(1).title("Personal report").build();
+        TaskSummaryDTO teamTask = TaskSummaryDTO.builder().id(2).title("Team report").build();
+        when(tasksRepository.findSummariesByUser(loggedUser))
+                .thenReturn(List.of(personal, teamTask))
+                .thenReturn(List.of(personal));
+        when(tasksRepository.countByStatusForTeam(t))
+                .thenReturn(List.of(new TaskStatusCountRowDTO(99L, 1L, Status.PLANNED, 1L)));
+
+        assertEquals(2, realIndex.search(loggedUser, "rep", 10).size());
+
+        service.deleteTeam(1L);
+
+        assertEquals(List.of(personal), realIndex.search(loggedUser, "rep", 10));
     }
 
     @Test
@@ -541,19 +587,10 @@ public class TeamServiceTest {
         Team t = givenTeamExists(1L);
         givenLoggedMembership(t, TeamRole.MEMBER);
 
-        Task task1 = new Task();
-        task1.setId(1);
-        task1.setTitle("task1");
-        task1.setDescription("d1");
-        task1.setTeam(t);
-
-        Task task2 = new Task();
-        task2.setId(2);
-        task2.setTitle("task2");
-        task2.setDescription("d2");
-        task2.setTeam(t);
+        TaskSummaryDTO task1 = new TaskSummaryDTO(1, "task1", null, null);
+        TaskSummaryDTO task2 = new TaskSummaryDTO(2, "task2", null, null);
 
-        when(tasksRepository.findByTeam(t)).thenReturn(List.of(task1, task2));
+        when(tasksRepository.findSummariesByTeam(t)).thenReturn(List.of(task1, task2));
 
         List<TaskSummaryDTO> result = teamService.getTeamTasks(1L);
 
@@ -562,6 +599,19 @@ public class TeamServiceTest {
         assertEquals("task2", result.get(1).getTitle());
 
         verify(teamAccessAuthService).requireMembership(t, loggedUser);
-        verify(tasksRepository).findByTeam(t);
+        verify(tasksRepository).findSummariesByTeam(t);
+    }
+
+    @Test
+    void getTeamTaskStats_ShouldReadTeamCounters_WhenMember() {
+        Team t = givenTeamExists(1L);
+        givenLoggedMembership(t, TeamRole.MEMBER);
+
+        TaskStatusCountsDTO counts = TaskStatusCountsDTO.builder().total(4).build();
+        when(taskStatusCounterService.countsFor(CounterScope.TEAM, 1L)).thenReturn(counts);
+
+        assertSame(counts, teamService.getTeamTaskStats(1L));
+        verify(teamAccessAuthService).requireMembership(t, loggedUser);
+        verifyNoInteractions(tasksRepository);
     }
 }
@@ -0,0 +1,67 @@
+package task_manager_api.service_tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import task_manager_api.repository.RefreshTokenRepository;
+import task_manager_api.repository.VerificationTokenRepository;
+import task_manager_api.service.auth.TokenCleanupService;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenCleanupServiceTest {
+
+    @Mock private VerificationTokenRepository verificationTokenRepository;
+    @Mock private RefreshTokenRepository refreshTokenRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenCleanupService service(int maxBatches, boolean partitioned) {
+        return new TokenCleanupService(verificationTokenRepository, refreshTokenRepository, transactionManager,
+                meterRegistry, 100, maxBatches, 0, 24, partitioned);
+    }
+
+    @Test
+    void purgeRefreshTokens_DeletesExpiredThenRevokedBatches_UntilEachComesBackShort() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(100, 100, 42);
+        when(refreshTokenRepository.deleteRevokedBatch(any(Instant.class), eq(100))).thenReturn(7);
+
+        assertEquals(249, service(10, false).purgeRefreshTokens());
+
+        InOrder inOrder = inOrder(refreshTokenRepository);
+        inOrder.verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(), eq(100));
+        inOrder.verify(refreshTokenRepository).deleteRevokedBatch(any(), eq(100));
+        verify(transactionManager, times(4)).commit(any());
+        verify(refreshTokenRepository, never()).maintainPartitions(any(), anyInt());
+        assertEquals(249, meterRegistry.get("app.refresh_tokens.purged").counter().count());
+    }
+
+    @Test
+    void purgeRefreshTokens_StopsAtMaxBatchesPerRun() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(100, 42);
+        when(refreshTokenRepository.deleteRevokedBatch(any(Instant.class), eq(100))).thenReturn(100);
+
+        assertEquals(242, service(3, false).purgeRefreshTokens());
+        verify(refreshTokenRepository, times(2)).deleteExpiredBatch(any(), eq(100));
+        verify(refreshTokenRepository, times(1)).deleteRevokedBatch(any(), eq(100));
+    }
+
+    @Test
+    void purgeRefreshTokens_Partitioned_DropsExpiredPartitionsFirst() {
+        when(refreshTokenRepository.maintainPartitions(any(Instant.class), eq(2))).thenReturn(1);
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(5);
+
+        assertEquals(5, service(10, true).purgeRefreshTokens());
+        assertEquals(1, meterRegistry.get("app.refresh_tokens.partitions_dropped").counter().count());
+    }
+}
@@ -1,5 +1,7 @@
 package task_manager_api.service_tests;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,19 +12,25 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import task_manager_api.DTO.task.TaskStatusCountRowDTO;
 import task_manager_api.DTO.user.UserCreateDTO;
 import task_manager_api.DTO.user.UserResponseDTO;
 import task_manager_api.DTO.user.UserUpdateDTO;
 import task_manager_api.exceptions.ConflictException;
 import task_manager_api.exceptions.ResourceNotFoundException;
 import task_manager_api.exceptions.UnauthorizedActionException;
+import task_manager_api.model.Status;
 import task_manager_api.model.User;
 import task_manager_api.model.UserTitle;
+import task_manager_api.repository.TasksRepository;
 import task_manager_api.repository.UserRepository;
 import task_manager_api.security.UserPrincipal;
+import task_manager_api.service.auth.RefreshTokenStore;
+import task_manager_api.service.task.TaskStatusCounterService;
 import task_manager_api.service.user.UserLookupService;
 import task_manager_api.service.user.UserService;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -34,6 +42,9 @@ public class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -43,6 +54,15 @@ public class UserServiceTest {
     @MockitoBean
     private UserLookupService  userLookupService;
 
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
+
+    @MockitoBean
+    private TasksRepository tasksRepository;
+
+    @MockitoBean
+    private TaskStatusCounterService taskStatusCounterService;
+
     private User existingUser;
 
     @BeforeEach
@@ -177,6 +197,35 @@ public class UserServiceTest {
         assertEquals("User is not authenticated", ex.getMessage());
     }
 
+    private double lookups(String result) {
+        Counter counter = meterRegistry.find("app.logged_user.lookups").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void getLoggedUserReference_SkipsTheSelect_AndCountsItAsSaved() {
+        User reference = new User();
+        reference.setId(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+        double saved = lookups("saved");
+        double loaded = lookups("loaded");
+
+        assertSame(reference, userService.getLoggedUserReference());
+        userService.getLoggedUser();
+
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(saved + 1, lookups("saved"));
+        assertEquals(loaded + 1, lookups("loaded"));
+    }
+
+    @Test
+    void getLoggedUserReferenceFails_WhenNotAuthenticated() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(UnauthorizedActionException.class, () -> userService.getLoggedUserReference());
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
     @Test
     void getLoggedUserFails_WhenLoggedUserNotFoundInDatabase() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -224,6 +273,7 @@ public class UserServiceTest {
         assertEquals("encodedNewPass", existingUser.getPassword());
         verify(passwordEncoder).encode("newPass");
         verify(userRepository).save(existingUser);
+        verify(refreshTokenStore).revokeAllForUser(1L);
     }
 
 
@@ -359,8 +409,13 @@ public class UserServiceTest {
     // --- Delete tests ---
     @Test
     void deleteUserSuccessfully() {
+        List<TaskStatusCountRowDTO> removedTasks = List.of(new TaskStatusCountRowDTO(1L, 4L, Status.PLANNED, 2L));
+        when(tasksRepository.countByStatusForUser(existingUser)).thenReturn(removedTasks);
+
         userService.deleteUser(1L);
         verify(userRepository).delete(existingUser);
+        verify(taskStatusCounterService).userRemoved(1L, removedTasks);
+        verify(refreshTokenStore).revokeAllForUser(1L);
     }
 
     @Test
@@ -372,5 +427,6 @@ public class UserServiceTest {
 
         assertEquals("You are not allowed to delete another user's account", ex.getMessage());
         verify(userRepository, never()).delete(any(User.class));
+        verify(taskStatusCounterService, never()).userRemoved(any(), any());
     }
 }